@@ -0,0 +1,68 @@
+package com.example.librarymanagementsystem.benchmark;
+
+import com.example.librarymanagementsystem.controller.BookController;
+import com.example.librarymanagementsystem.controller.MemberController;
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Catalog search and the live form validation endpoints
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogBenchmarks {
+    private BookService bookService;
+    private BookController bookController;
+    private MemberController memberController;
+
+    @Setup
+    public void setUp(LibraryBenchmarkState state) {
+        bookService = state.bean(BookService.class);
+        bookController = state.bean(BookController.class);
+        memberController = state.bean(MemberController.class);
+    }
+
+    @Benchmark
+    public List<Book> searchBooksWithFilters() {
+        return bookService.searchBooksWithFilters("title 12", "author", "Category 3", null, null);
+    }
+
+    @Benchmark
+    public List<Book> searchBooksByKeyword() {
+        return bookService.searchBooks("book 42");
+    }
+
+    @Benchmark
+    public boolean validateTitle() {
+        return bookController.validateTitle("Book Title 4242", null);
+    }
+
+    @Benchmark
+    public boolean validateIsbn() {
+        return bookController.validateIsbn("978-4242", null);
+    }
+
+    @Benchmark
+    public boolean validateLibraryCode() {
+        return bookController.validateLibraryCode("LC-4242", "1");
+    }
+
+    @Benchmark
+    public boolean validateMemberEmail() {
+        return memberController.validateEmail("member42@example.com", null);
+    }
+
+    @Benchmark
+    public boolean validateMemberPhone() {
+        return memberController.validatePhone("0100000042", null);
+    }
+}
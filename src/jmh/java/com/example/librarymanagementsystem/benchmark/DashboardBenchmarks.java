@@ -0,0 +1,62 @@
+package com.example.librarymanagementsystem.benchmark;
+
+import com.example.librarymanagementsystem.controller.HomeController;
+import com.example.librarymanagementsystem.dto.CategoryStatsDto;
+import com.example.librarymanagementsystem.dto.DashboardSnapshot;
+import com.example.librarymanagementsystem.service.CategoryStatsService;
+import com.example.librarymanagementsystem.service.DashboardSnapshotService;
+import com.example.librarymanagementsystem.service.HistoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Dashboard, statistics and history read paths
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardBenchmarks {
+    private HomeController homeController;
+    private DashboardSnapshotService dashboardSnapshotService;
+    private CategoryStatsService categoryStatsService;
+    private HistoryService historyService;
+
+    @Setup
+    public void setUp(LibraryBenchmarkState state) {
+        homeController = state.bean(HomeController.class);
+        dashboardSnapshotService = state.bean(DashboardSnapshotService.class);
+        categoryStatsService = state.bean(CategoryStatsService.class);
+        historyService = state.bean(HistoryService.class);
+    }
+
+    // Home page model assembly as served to requests (cached snapshot)
+    @Benchmark
+    public ExtendedModelMap homeDashboard() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        homeController.home(model);
+        return model;
+    }
+
+    // Full snapshot build, as done by the scheduled refresh
+    @Benchmark
+    public DashboardSnapshot buildDashboardSnapshot() {
+        return dashboardSnapshotService.buildSnapshot();
+    }
+
+    @Benchmark
+    public List<CategoryStatsDto> topCategories() {
+        return categoryStatsService.getTopCategories();
+    }
+
+    @Benchmark
+    public List<HistoryService.DailyActivity> weeklyActivity() {
+        return historyService.getWeeklyActivity();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.librarymanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of the loan and search endpoints with many concurrent
+ * clients, run once with virtual threads and once with the platform thread
+ * pool (the virtualThreads parameter). Throughput mode gives requests per
+ * second; sample mode gives the latency distribution (p0.99 in the results).
+ * Run with ./gradlew jmh -Pjmh.includes=HttpLoad
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(200)
+public class HttpLoadBenchmarks {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private int next;
+
+    @Benchmark
+    public int searchBooksByTitle(WebLoadState state) throws IOException, InterruptedException {
+        return get(state, "/books?title=Title+" + (next++ % 1000));
+    }
+
+    @Benchmark
+    public int searchBooksByKeyword(WebLoadState state) throws IOException, InterruptedException {
+        return get(state, "/books?search=book+" + (next++ % 1000));
+    }
+
+    // Check out one copy and return it, through the JSON loan endpoints
+    @Benchmark
+    public int checkoutAndReturn(WebLoadState state) throws IOException, InterruptedException {
+        int i = next++;
+        Long bookId = state.sampleBooks.get(i % state.sampleBooks.size()).getId();
+        Long memberId = state.sampleMembers.get(i % state.sampleMembers.size()).getId();
+        JsonNode checkout = post(state, "/api/library/loans/checkout-batch", List.of(Map.of(
+                "bookId", bookId, "memberId", memberId, "dueDate", LocalDate.now().plusWeeks(2).toString())));
+        JsonNode loanId = checkout.path("results").path(0).path("loanId");
+        if (loanId.isMissingNode() || loanId.isNull()) {
+            throw new IllegalStateException("Checkout failed: " + checkout);
+        }
+        return post(state, "/api/library/loans/return-batch", List.of(loanId.asLong())).path("succeeded").asInt();
+    }
+
+    private static int get(WebLoadState state, String path) throws IOException, InterruptedException {
+        HttpResponse<Void> response = state.client.send(HttpRequest.newBuilder(state.uri(path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+
+    private static JsonNode post(WebLoadState state, String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = state.client.send(HttpRequest.newBuilder(state.uri(path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        return JSON.readTree(response.body());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.librarymanagementsystem.benchmark;
+
+import com.example.librarymanagementsystem.LibraryManagementSystemApplication;
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.entity.Category;
+import com.example.librarymanagementsystem.entity.Member;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.CategoryRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import com.example.librarymanagementsystem.search.CatalogSearchService;
+import com.example.librarymanagementsystem.service.ActivityRollupService;
+import com.example.librarymanagementsystem.service.DashboardSnapshotService;
+import com.example.librarymanagementsystem.service.OverdueLoanService;
+import com.example.librarymanagementsystem.service.UniquenessIndexService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application (without the web server) against an in-memory H2
+ * database in MySQL mode, built by the Flyway scripts, and seeds it with
+ * synthetic data. Volumes are JMH parameters, e.g. -p books=100000.
+ */
+@State(Scope.Benchmark)
+public class LibraryBenchmarkState {
+    private static final int SEED_BATCH = 1000;
+
+    @Param("20")
+    public int categories;
+    @Param("10000")
+    public int books;
+    @Param("2000")
+    public int members;
+    @Param("50000")
+    public int loans;
+
+    public ConfigurableApplicationContext context;
+    public List<Book> sampleBooks;
+    public List<Member> sampleMembers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = application().run();
+        seed();
+        warmUp();
+        sampleBooks = bean(BookRepository.class).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+        sampleMembers = bean(MemberRepository.class).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+    }
+
+    // In-process application without the web server; subclasses may start one
+    protected SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        CategoryRepository categoryRepository = bean(CategoryRepository.class);
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            categoryIds.add(categoryRepository.save(new Category("Category " + i)).getId());
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            rows.add(new Object[]{"Book Title " + i, "Author " + (i % 500), "978-" + i, 1950 + i % 75,
+                    "LC-" + i, categoryIds.get(i % categoryIds.size()), Date.valueOf(today.minusDays(i % 365))});
+            flushIfFull(jdbc, "INSERT INTO book (title, author, isbn, publication_year, total_copies, available_copies, " +
+                    "library_code, category_id, created_date) VALUES (?, ?, ?, ?, 1000000, 1000000, ?, ?, ?)", rows, i == books - 1);
+        }
+        for (int i = 0; i < members; i++) {
+            rows.add(new Object[]{"Member " + i, "member" + i + "@example.com", "0" + (100000000 + i),
+                    Date.valueOf(today.minusDays(i % 365))});
+            flushIfFull(jdbc, "INSERT INTO member (name, email, phone, registered_date) VALUES (?, ?, ?, ?)",
+                    rows, i == members - 1);
+        }
+        Long firstBook = jdbc.queryForObject("SELECT MIN(id) FROM book", Long.class);
+        Long firstMember = jdbc.queryForObject("SELECT MIN(id) FROM member", Long.class);
+        for (int i = 0; i < loans; i++) {
+            LocalDate loanDate = today.minusDays(i % 365);
+            rows.add(new Object[]{firstBook + (i * 7L) % books, firstMember + (i * 13L) % members,
+                    Date.valueOf(loanDate), Date.valueOf(loanDate.plusWeeks(2)),
+                    i % 4 == 0 ? null : Date.valueOf(loanDate.plusDays(10))});
+            flushIfFull(jdbc, "INSERT INTO loan (book_id, member_id, loan_date, due_date, return_date) VALUES (?, ?, ?, ?, ?)",
+                    rows, i == loans - 1);
+        }
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbc, String sql, List<Object[]> rows, boolean last) {
+        if (rows.size() >= SEED_BATCH || (last && !rows.isEmpty())) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    // The startup listeners ran against an empty database; rebuild the derived state now that it is seeded
+    private void warmUp() {
+        bean(ActivityRollupService.class).backfill();
+        bean(UniquenessIndexService.class).rebuild();
+        bean(CatalogSearchService.class).rebuild();
+        bean(OverdueLoanService.class).reconcile();
+        bean(DashboardSnapshotService.class).refresh();
+    }
+}
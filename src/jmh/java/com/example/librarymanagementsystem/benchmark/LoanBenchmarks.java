@@ -0,0 +1,45 @@
+package com.example.librarymanagementsystem.benchmark;
+
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.entity.Loan;
+import com.example.librarymanagementsystem.entity.Member;
+import com.example.librarymanagementsystem.service.LoanService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Checkout followed by return of the same loan, so book availability stays constant
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoanBenchmarks {
+    private LoanService loanService;
+    private List<Book> books;
+    private List<Member> members;
+    private int next;
+
+    @Setup
+    public void setUp(LibraryBenchmarkState state) {
+        loanService = state.bean(LoanService.class);
+        books = state.sampleBooks;
+        members = state.sampleMembers;
+    }
+
+    @Benchmark
+    public Long checkoutAndReturn() {
+        int i = next++;
+        LocalDate today = LocalDate.now();
+        Loan loan = loanService.saveLoan(new Loan(books.get(i % books.size()), members.get(i % members.size()),
+                today, today.plusWeeks(2)));
+        loanService.returnLoan(loan.getId());
+        return loan.getId();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.librarymanagementsystem.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+
+/**
+ * LibraryBenchmarkState with the embedded Tomcat started on a random port,
+ * either on virtual threads or on a platform thread pool of tomcatThreads.
+ */
+@State(Scope.Benchmark)
+public class WebLoadState extends LibraryBenchmarkState {
+    @Param({"true", "false"})
+    public boolean virtualThreads;
+    @Param("50")
+    public int tomcatThreads;
+
+    public HttpClient client;
+
+    @Override
+    protected SpringApplicationBuilder application() {
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        return super.application()
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + tomcatThreads);
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path);
+    }
+}
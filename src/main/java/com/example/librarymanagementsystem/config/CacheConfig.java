@@ -0,0 +1,39 @@
+package com.example.librarymanagementsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bounded Caffeine caches for rarely changing lookups. The manager is wrapped
+ * so that puts and evictions made inside a transaction are applied only after
+ * it commits; a rolled back write never evicts and a concurrent reader cannot
+ * cache a row that is about to change. Hit/miss counts are recorded and
+ * published as cache.gets / cache.puts / cache.evictions metrics by Actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    // Category by exact name (the lookup done on every book save)
+    public static final String CATEGORY_BY_NAME = "categoryByName";
+    // All / active category lists used by the book and category forms
+    public static final String CATEGORY_LISTS = "categoryLists";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.category.max-size:1000}") long maxSize,
+                                     @Value("${cache.category.ttl-minutes:60}") long ttlMinutes) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(CATEGORY_BY_NAME, CATEGORY_LISTS);
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.librarymanagementsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded executor for the dashboard panels. The pool is fixed and the queue
+ * short, so a burst of slow panels cannot pile up work; a panel that is
+ * rejected or times out is served from its fallback instead.
+ */
+@Configuration
+public class DashboardConfig {
+    public static final String PANEL_EXECUTOR = "dashboardPanelExecutor";
+
+    @Bean(name = PANEL_EXECUTOR)
+    public ThreadPoolTaskExecutor dashboardPanelExecutor(@Value("${dashboard.panels.pool-size:8}") int poolSize,
+                                                         @Value("${dashboard.panels.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-panel-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
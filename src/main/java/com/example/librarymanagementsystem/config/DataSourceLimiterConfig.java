@@ -0,0 +1,71 @@
+package com.example.librarymanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts a ConcurrencyLimitingDataSource in front of each connection pool. The
+ * number of permits defaults to the Hikari pool size, so callers beyond it
+ * wait on the semaphore rather than on the pool. Usage is published as the
+ * datasource.limiter.active / waiting / max gauges (of the primary pool).
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.limiter.enabled", matchIfMissing = true)
+public class DataSourceLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only connection pools; proxies in front of them (routing, lazy, limiter) share their permits
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    int poolSize = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                            : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    return new ConcurrencyLimitingDataSource(dataSource,
+                            environment.getProperty("datasource.limiter.max-concurrency", Integer.class, poolSize),
+                            environment.getProperty("datasource.limiter.acquire-timeout-ms", Long.class, 30000L));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = unwrap(dataSource);
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder("datasource.limiter.active", limiter, ConcurrencyLimitingDataSource::getActive)
+                    .description("Connections checked out through the limiter").register(registry);
+            Gauge.builder("datasource.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting)
+                    .description("Threads waiting for a connection permit").register(registry);
+            Gauge.builder("datasource.limiter.max", limiter, ConcurrencyLimitingDataSource::getMaxConcurrency)
+                    .description("Maximum concurrent connections").register(registry);
+        };
+    }
+
+    private static ConcurrencyLimitingDataSource unwrap(DataSource dataSource) {
+        if (dataSource instanceof ConcurrencyLimitingDataSource limiter) {
+            return limiter;
+        }
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                    ? dataSource.unwrap(ConcurrencyLimitingDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.librarymanagementsystem.config;
+
+import com.example.librarymanagementsystem.service.LiveUpdateService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application metrics on top of what Actuator publishes by itself
+ * (http.server.requests per endpoint, hikaricp.* pool metrics and, with
+ * hibernate.generate_statistics on, hibernate.* query/entity/cache metrics):
+ * service method timers, a per-request SQL statement count, the
+ * @QueryBudget guard and the number of live dashboard subscribers.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect(MeterRegistry meterRegistry) {
+        return new ServiceTimingAspect(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "query-budget.enabled", matchIfMissing = true)
+    public QueryBudgetAspect queryBudgetAspect(@Value("${query-budget.fail-on-breach:false}") boolean failOnBreach) {
+        return new QueryBudgetAspect(failOnBreach);
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder liveUpdateMetrics(LiveUpdateService liveUpdateService) {
+        return registry -> Gauge.builder("live.updates.subscribers", liveUpdateService, LiveUpdateService::getSubscriberCount)
+                .description("Open Server-Sent Events connections").register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.librarymanagementsystem.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller or service method may run per
+ * call, e.g. {@code @QueryBudget(max = 5)}. On a class it applies to every
+ * public method. Checked by QueryBudgetAspect: a breach fails the call when
+ * query-budget.fail-on-breach is true (tests) and is logged with a stack
+ * trace otherwise.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+    int max();
+}
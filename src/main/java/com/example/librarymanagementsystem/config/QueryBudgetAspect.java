@@ -0,0 +1,62 @@
+package com.example.librarymanagementsystem.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the SQL statements run by each @QueryBudget method (including the
+ * methods it calls) and compares them with the budget. Inside an HTTP request
+ * the count is the difference of the request counter; elsewhere (tests,
+ * scheduled jobs) the aspect opens its own counting scope.
+ */
+@Aspect
+public class QueryBudgetAspect {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetAspect.class);
+
+    private final boolean failOnBreach;
+
+    public QueryBudgetAspect(boolean failOnBreach) {
+        this.failOnBreach = failOnBreach;
+    }
+
+    @Around("execution(* *(..)) && @annotation(budget)")
+    public Object checkMethod(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        return check(joinPoint, budget);
+    }
+
+    @Around("execution(public * *(..)) && @within(budget) && !@annotation(com.example.librarymanagementsystem.config.QueryBudget)")
+    public Object checkClass(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        return check(joinPoint, budget);
+    }
+
+    private Object check(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        boolean ownScope = !SqlStatementCounter.isActive();
+        if (ownScope) {
+            SqlStatementCounter.start();
+        }
+        int before = SqlStatementCounter.current();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            if (ownScope) {
+                SqlStatementCounter.stop();
+            }
+            throw e;
+        }
+        int statements = (ownScope ? SqlStatementCounter.stop() : SqlStatementCounter.current()) - before;
+        if (statements > budget.max()) {
+            String message = joinPoint.getSignature().toShortString() + " ran " + statements
+                    + " SQL statement(s), over its budget of " + budget.max();
+            QueryBudgetExceededException breach = new QueryBudgetExceededException(message);
+            if (failOnBreach) {
+                throw breach;
+            }
+            log.warn(message, breach);
+        }
+        return result;
+    }
+}
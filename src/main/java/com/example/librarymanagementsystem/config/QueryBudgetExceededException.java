@@ -0,0 +1,8 @@
+package com.example.librarymanagementsystem.config;
+
+// Thrown (or logged) when a method runs more SQL statements than its @QueryBudget allows
+public class QueryBudgetExceededException extends IllegalStateException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.librarymanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting. spring.datasource.* stays the primary; a second pool
+ * is built from datasource.replica.* (jdbc-url, username, password,
+ * driver-class-name and any other Hikari setting). The application DataSource
+ * is a LazyConnectionDataSourceProxy: the physical connection is fetched at
+ * the first statement, after Spring has marked a @Transactional(readOnly = true)
+ * connection read-only, and read-only connections come from the replica (or
+ * the primary while the replica lags or the request needs its own writes).
+ * Writes, Flyway and JDBC work inside write transactions use the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                               @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                               @Value("${datasource.replica.no-status-means-current:false}") boolean noStatusMeansCurrent) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLagSeconds, noStatusMeansCurrent);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(replica, primary, replicaLagMonitor, meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.read-your-writes.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${datasource.replica.read-your-writes.window-ms:10000}") long windowMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(windowMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> {
+            Gauge.builder("datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagSeconds)
+                    .description("Seconds the replica is behind the primary (-1 when unknown)")
+                    .baseUnit("seconds").register(registry);
+            Gauge.builder("datasource.replica.available", replicaLagMonitor, m -> m.isAvailable() ? 1 : 0)
+                    .description("1 while read-only transactions use the replica").register(registry);
+        };
+    }
+}
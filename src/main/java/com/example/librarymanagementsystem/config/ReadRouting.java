@@ -0,0 +1,52 @@
+package com.example.librarymanagementsystem.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override for read-only transactions: while set, they use the
+ * primary database instead of the replica. Used for reads that must see the
+ * caller's own writes (requests right after a POST, in-memory indexes that are
+ * rebuilt and then maintained incrementally). No effect when no replica is
+ * configured.
+ */
+public final class ReadRouting {
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        callOnPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // Returns the previous value for restore(); for callers that cannot pass a lambda (filters)
+    static Boolean requirePrimary() {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            PRIMARY.remove();
+        } else {
+            PRIMARY.set(previous);
+        }
+    }
+}
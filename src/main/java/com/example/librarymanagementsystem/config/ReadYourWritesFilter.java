@@ -0,0 +1,69 @@
+package com.example.librarymanagementsystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Read-your-writes for browsers: a request that may write (anything but
+ * GET/HEAD/OPTIONS) reads from the primary and sets a short-lived cookie, so
+ * the pages loaded right after it (e.g. the redirect after a form POST) also
+ * read from the primary until the replica has had time to catch up.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE = "read-primary-until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long windowMs;
+
+    public ReadYourWritesFilter(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the chain runs: a redirect commits the response
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + windowMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMs + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        if (!write && !recentlyWrote(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Boolean previous = ReadRouting.requirePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.restore(previous);
+        }
+    }
+
+    private static boolean recentlyWrote(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.librarymanagementsystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Measures how far the replica is behind the primary. The lag query runs on
+ * the replica; by default it is SHOW REPLICA STATUS (MySQL), read from the
+ * Seconds_Behind_Source column, otherwise from the first column of the first
+ * row. No row (the server is not configured as a replica, e.g. after a
+ * failed setup), NULL (replication stopped) or a failed query count as
+ * unavailable; a standalone copy that is never written to can opt in to
+ * treating no row as zero lag (datasource.replica.no-status-means-current).
+ * The replica is used only while the last check was within the max lag, so it
+ * starts out unavailable until the first check succeeds.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final boolean noStatusMeansCurrent;
+
+    // -1 until measured or while the replica is unreachable / not replicating
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds, boolean noStatusMeansCurrent) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(5);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.noStatusMeansCurrent = noStatusMeansCurrent;
+    }
+
+    public boolean isAvailable() {
+        long lag = lagSeconds;
+        return lag >= 0 && lag <= maxLagSeconds;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:5000}")
+    public void check() {
+        boolean wasAvailable = isAvailable();
+        try {
+            Long lag = replica.query(lagQuery, this::readLag);
+            lagSeconds = lag == null ? -1 : lag;
+        } catch (RuntimeException e) {
+            lagSeconds = -1;
+            log.debug("Replica lag check failed: {}", e.getMessage());
+        }
+        if (wasAvailable != isAvailable()) {
+            if (isAvailable()) {
+                log.info("Replica available (lag {}s); read-only transactions use the replica", lagSeconds);
+            } else {
+                log.warn("Replica unavailable or more than {}s behind (lag {}); reading from the primary",
+                        maxLagSeconds, lagSeconds);
+            }
+        }
+    }
+
+    private Long readLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return noStatusMeansCurrent ? 0L : null;
+        }
+        String value = hasColumn(rs, LAG_COLUMN) ? rs.getString(LAG_COLUMN) : rs.getString(1);
+        return value == null ? null : Long.parseLong(value.trim());
+    }
+
+    private static boolean hasColumn(ResultSet rs, String name) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.librarymanagementsystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection source for read-only transactions: the replica while it is
+ * available and the current thread does not require the primary, otherwise
+ * the primary. Decisions are counted as datasource.routing.reads by target.
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        super(replica);
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.replicaReads = reads(meterRegistry, "replica");
+        this.primaryReads = reads(meterRegistry, "primary");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            replicaReads.increment();
+            return super.getConnection();
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return useReplica() ? super.getConnection(username, password) : primary.getConnection(username, password);
+    }
+
+    private boolean useReplica() {
+        return !ReadRouting.isPrimaryRequired() && lagMonitor.isAvailable();
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Connections opened for read-only transactions")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
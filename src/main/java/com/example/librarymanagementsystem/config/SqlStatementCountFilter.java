@@ -0,0 +1,89 @@
+package com.example.librarymanagementsystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reports the number of SQL statements each request ran. The count is sent as
+ * the X-SQL-Statement-Count header, set when the response body is first
+ * written (so it covers the controller, not statements issued while a view is
+ * rendering), and the full count is recorded in the
+ * http.server.requests.sql.statements histogram tagged by method and URI
+ * pattern. A high count on one URI is the signature of an N+1 query.
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Statement-Count";
+    private static final String METRIC = "http.server.requests.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            countingResponse.addCountHeader();
+            int statements = SqlStatementCounter.stop();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                    .description("SQL statements executed per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+
+    // Adds the header just before the body starts, while headers can still be set
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private boolean headerAdded;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void addCountHeader() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader(HEADER, Integer.toString(SqlStatementCounter.current()));
+            }
+            headerAdded = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.librarymanagementsystem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * counting scope is open (one per HTTP request, see SqlStatementCountFilter,
+ * or QueryBudgetAspect). Statements outside a scope (scheduled jobs,
+ * startup) are not counted.
+ * Work handed to other threads is counted in the caller's scope when wrapped
+ * with propagate(). JdbcTemplate batches bypass Hibernate and are not included.
+ * capture() also records the statements' SQL (used by the index usage tests).
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    // SQL of the statements Hibernate prepares on this thread while the task runs
+    public static List<String> capture(Runnable task) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            task.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+
+    public static void start() {
+        COUNT.set(new AtomicInteger());
+    }
+
+    public static boolean isActive() {
+        return COUNT.get() != null;
+    }
+
+    public static int current() {
+        AtomicInteger count = COUNT.get();
+        return count != null ? count.get() : 0;
+    }
+
+    // Close the scope and return the number of statements counted in it
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    // Task that adds its statements to the calling thread's scope (if any) when run on another thread
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    COUNT.set(previous);
+                } else {
+                    COUNT.remove();
+                }
+            }
+        };
+    }
+}
@@ -1,27 +1,59 @@
 package com.example.librarymanagementsystem.controller;
 
+import com.example.librarymanagementsystem.dto.BatchItemResult;
+import com.example.librarymanagementsystem.dto.LibrarySummaryDto;
+import com.example.librarymanagementsystem.dto.LoanCheckoutRequest;
+import com.example.librarymanagementsystem.dto.LoanView;
 import com.example.librarymanagementsystem.entity.Book;
 import com.example.librarymanagementsystem.entity.Category;
 import com.example.librarymanagementsystem.entity.Loan;
 import com.example.librarymanagementsystem.entity.Member;
+import com.example.librarymanagementsystem.service.BookImportService;
 import com.example.librarymanagementsystem.service.BookService;
 import com.example.librarymanagementsystem.service.CategoryService;
+import com.example.librarymanagementsystem.service.LibrarySummaryService;
 import com.example.librarymanagementsystem.service.LoanService;
 import com.example.librarymanagementsystem.service.MemberService;
+import com.example.librarymanagementsystem.service.OverdueLoanService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/library")
 public class ApiController {
+    // Listing endpoints return keyset pages of this size unless ?limit= is given
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private BookImportService bookImportService;
+
     @Autowired
     private MemberService memberService;
 
@@ -31,10 +63,47 @@ public class ApiController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private LibrarySummaryService librarySummaryService;
+
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Book Endpoints
     @GetMapping("/books")
-    public List<Book> getAllBooks() {
-        return bookService.getAllBooks();
+    public ResponseEntity<List<Book>> getAllBooks(@RequestParam(value = "after", required = false) Long after,
+                                                  @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = clampPageSize(limit);
+        return keysetPage(bookService.getBooksAfter(after, pageSize), Book::getId, pageSize);
+    }
+
+    // Full export as newline-delimited JSON (Accept: application/x-ndjson)
+    @GetMapping(value = "/books", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamBooks() {
+        return ndjson(bookService::forEachBook);
+    }
+
+    // Bulk import from a CSV file upload (multipart field "file")
+    @PostMapping(value = "/books/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importBooks(@RequestParam("file") MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(bookImportService.importCsv(input));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Bulk import from a raw text/csv request body, read as it arrives
+    @PostMapping(value = "/books/import", consumes = "text/csv")
+    public ResponseEntity<?> importBooksCsv(HttpServletRequest request) {
+        try (InputStream input = request.getInputStream()) {
+            return ResponseEntity.ok(bookImportService.importCsv(input));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @GetMapping("/books/{id}")
@@ -70,8 +139,15 @@ public class ApiController {
 
     // Member Endpoints
     @GetMapping("/members")
-    public List<Member> getAllMembers() {
-        return memberService.getAllMembers();
+    public ResponseEntity<List<Member>> getAllMembers(@RequestParam(value = "after", required = false) Long after,
+                                                      @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = clampPageSize(limit);
+        return keysetPage(memberService.getMembersAfter(after, pageSize), Member::getId, pageSize);
+    }
+
+    @GetMapping(value = "/members", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamMembers() {
+        return ndjson(memberService::forEachMember);
     }
 
     @GetMapping("/members/{id}")
@@ -107,13 +183,54 @@ public class ApiController {
 
     // Loan Endpoints
     @GetMapping("/loans")
-    public List<Loan> getAllLoans() {
-        return loanService.getAllLoans();
+    public ResponseEntity<List<LoanView>> getAllLoans(@RequestParam(value = "after", required = false) Long after,
+                                                  @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = clampPageSize(limit);
+        return keysetPage(loanService.getLoansAfter(after, pageSize), LoanView::getId, pageSize);
+    }
+
+    @GetMapping(value = "/loans", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamLoans() {
+        return ndjson(loanService::forEachLoan);
+    }
+
+    // Check out many (bookId, memberId) pairs in one transaction; one result per item, in order
+    @PostMapping("/loans/checkout-batch")
+    public ResponseEntity<?> checkoutBatch(@RequestBody(required = false) List<LoanCheckoutRequest> requests) {
+        try {
+            return ResponseEntity.ok(batchResponse(loanService.checkoutBatch(requests)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Return many loans by id in one transaction; one result per item, in order
+    @PostMapping("/loans/return-batch")
+    public ResponseEntity<?> returnBatch(@RequestBody(required = false) List<Long> loanIds) {
+        try {
+            return ResponseEntity.ok(batchResponse(loanService.returnBatch(loanIds)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Overdue loans, oldest due date first (?page=&size=)
+    @GetMapping("/loans/overdue")
+    public Map<String, Object> getOverdueLoans(@RequestParam(value = "page", defaultValue = "0") int page,
+                                               @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        Page<LoanView> overdue = overdueLoanService.getOverdueLoans(PageRequest.of(Math.max(page, 0), clampPageSize(size)));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", overdue.getContent());
+        response.put("page", overdue.getNumber());
+        response.put("size", overdue.getSize());
+        response.put("totalElements", overdue.getTotalElements());
+        response.put("totalPages", overdue.getTotalPages());
+        return response;
     }
 
     @GetMapping("/loans/{id}")
-    public ResponseEntity<Loan> getLoanById(@PathVariable Long id) {
-        Optional<Loan> loan = loanService.getLoanById(id);
+    public ResponseEntity<LoanView> getLoanById(@PathVariable Long id) {
+        Optional<LoanView> loan = loanService.getLoanView(id);
         return loan.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
@@ -189,6 +306,16 @@ public class ApiController {
         }
     }
 
+    // Library-wide counters; answers 304 Not Modified when If-None-Match matches the ETag
+    @GetMapping("/summary")
+    public ResponseEntity<LibrarySummaryDto> getSummary() {
+        LibrarySummaryDto summary = librarySummaryService.getSummary();
+        return ResponseEntity.ok()
+                .eTag(summary.toETag())
+                .cacheControl(CacheControl.noCache())
+                .body(summary);
+    }
+
     // Loan Statistics
     @GetMapping("/active-loans-count")
     public long getActiveLoansCount() {
@@ -199,4 +326,46 @@ public class ApiController {
     public long getDoneActiveLoansCount() {
         return loanService.getDoneActiveLoansCount();
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> batchResponse(List<BatchItemResult> results) {
+        long succeeded = results.stream().filter(BatchItemResult::isSuccess).count();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", results.size());
+        response.put("succeeded", succeeded);
+        response.put("failed", results.size() - succeeded);
+        response.put("results", results);
+        return response;
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Page response with a next cursor (X-Next-Cursor and Link rel="next") when the page is full
+    private <T> ResponseEntity<List<T>> keysetPage(List<T> items, Function<T, Long> idOf, int pageSize) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == pageSize) {
+            Long nextCursor = idOf.apply(items.get(items.size() - 1));
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", nextCursor)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header("X-Next-Cursor", String.valueOf(nextCursor));
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(items);
+    }
+
+    // Write one JSON document per line as rows come off the database cursor
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = out -> source.accept(item -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
@@ -1,18 +1,30 @@
 package com.example.librarymanagementsystem.controller;
 
+import com.example.librarymanagementsystem.config.QueryBudget;
+import com.example.librarymanagementsystem.dto.BookPage;
 import com.example.librarymanagementsystem.entity.Book;
 import com.example.librarymanagementsystem.entity.Category;
 import com.example.librarymanagementsystem.service.BookService;
+import com.example.librarymanagementsystem.service.CategoryService;
+import com.example.librarymanagementsystem.service.UniquenessIndexService;
+import com.example.librarymanagementsystem.service.UniquenessIndexService.Field;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Controller
@@ -21,7 +33,16 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
-    // List all books with optional search and filter
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UniquenessIndexService uniquenessIndexService;
+
+    // Sortable columns (each has an index, so sorting never needs a filesort of the whole table)
+    private static final Set<String> SORTABLE = Set.of("id", "title", "libraryCode", "createdDate");
+
+    // List books one page at a time with optional search and filter (?page=&size=&sort=title,asc)
     @GetMapping
     public String listBooks(@RequestParam(value = "search", required = false) String search,
                             @RequestParam(value = "category", required = false) String category,
@@ -29,38 +50,42 @@ public class BookController {
                             @RequestParam(value = "author", required = false) String author,
                             @RequestParam(value = "libraryCode", required = false) String libraryCode,
                             @RequestParam(value = "isbn", required = false) String isbn,
+                            @PageableDefault(size = 20, sort = "title") Pageable pageable,
                             Model model) {
 
-        List<Book> books;
+        BookPage books;
 
         // Advanced search with filters
-        if ((title != null && !title.trim().isEmpty()) ||
-                (author != null && !author.trim().isEmpty()) ||
-                (category != null && !category.trim().isEmpty()) ||
-                (libraryCode != null && !libraryCode.trim().isEmpty()) ||
-                (isbn != null && !isbn.trim().isEmpty())) {
-            books = bookService.searchBooksWithFilters(title, author, category, libraryCode, isbn);
+        if (hasText(title) || hasText(author) || hasText(libraryCode) || hasText(isbn)) {
+            books = bookService.searchBooksWithFilters(title, author, category, libraryCode, isbn, pageable);
             model.addAttribute("searchPerformed", true);
             model.addAttribute("searchFilters", true);
         }
-        // Simple search by category
-        else if (category != null && !category.trim().isEmpty()) {
-            books = bookService.searchBooksByCategory(category);
+        // General search (search in title, author, library code, ISBN), optionally within a category
+        else if (hasText(search)) {
+            books = bookService.searchBooks(search, category, pageable);
             model.addAttribute("searchPerformed", true);
-            model.addAttribute("selectedCategory", category);
         }
-        // General search (search in title, author, library code)
-        else if (search != null && !search.trim().isEmpty()) {
-            books = bookService.searchBooksWithFilters(search, search, null, search, search);
+        // Simple search by category
+        else if (hasText(category)) {
+            books = bookService.searchBooksByCategory(category, sortable(pageable));
             model.addAttribute("searchPerformed", true);
-            model.addAttribute("searchKeyword", search);
+            model.addAttribute("selectedCategory", category);
+            model.addAttribute("sortable", true);
         }
         // Show all books
         else {
-            books = bookService.getAllBooks();
+            books = bookService.getBooks(sortable(pageable));
+            model.addAttribute("sortable", true);
         }
 
-        model.addAttribute("books", books);
+        Page<Book> page = books.getPage();
+        model.addAttribute("books", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("totalEstimated", books.isTotalEstimated());
+        model.addAttribute("previousPageUrl", page.hasPrevious() ? pageUrl(page.getNumber() - 1) : null);
+        model.addAttribute("nextPageUrl", page.hasNext() ? pageUrl(page.getNumber() + 1) : null);
+        model.addAttribute("sortUrls", sortUrls(page.getSort()));
         model.addAttribute("categories", bookService.getAllCategoryObjects()); // Only active categories
         model.addAttribute("searchTitle", title);
         model.addAttribute("searchAuthor", author);
@@ -72,6 +97,41 @@ public class BookController {
         return "book-list";
     }
 
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    // Drop unsupported sort properties and add id as a tie-breaker so pages never overlap
+    private static Pageable sortable(Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().stream()
+                .filter(order -> SORTABLE.contains(order.getProperty()))
+                .collect(Collectors.toList());
+        Sort sort = orders.isEmpty() ? Sort.by("title") : Sort.by(orders);
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    // Current URL with another page number (keeps the search and sort parameters)
+    private static String pageUrl(int page) {
+        return ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("page", page).toUriString();
+    }
+
+    // Column header links: first page sorted by the column, toggling direction if it is the current sort
+    private static Map<String, String> sortUrls(Sort current) {
+        Map<String, String> urls = new HashMap<>();
+        for (String property : SORTABLE) {
+            Sort.Order order = current.getOrderFor(property);
+            String direction = order != null && order.isAscending() ? "desc" : "asc";
+            urls.put(property, ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("sort", property + "," + direction)
+                    .toUriString());
+        }
+        return urls;
+    }
+
     // Show form for creating a new book
     @GetMapping("/new")
     public String showBookForm(Model model) {
@@ -147,75 +207,38 @@ public class BookController {
     public List<Category> getAllCategoryObjects() {
         return bookService.getAllCategoryObjects();
     }
+    @QueryBudget(max = 5)
     @GetMapping("/api/categories/top")
     @ResponseBody
     public List<Map<String, Object>> getTopCategories() {
-        List<String> categories = bookService.getAllCategories();
-
-        return categories.stream()
-                .limit(5)
-                .map(categoryName -> {
-                    Map<String, Object> stats = new HashMap<>();
-
-                    // Count books in this category
-                    List<Book> booksInCategory = bookService.searchBooksByCategory(categoryName);
-                    long booksCount = booksInCategory.size();
-
-                    // For now, let's use simple counts (you can enhance later)
-                    long loansCount = booksInCategory.stream()
-                            .mapToLong(book -> book.getTotalCopies() - book.getAvailableCopies())
-                            .sum();
-
-                    // Placeholder for returns (you can calculate actual returns later)
-                    long returnsCount = loansCount / 2; // Simple estimate
-
-                    stats.put("name", categoryName);
-                    stats.put("booksCount", booksCount);
-                    stats.put("loansCount", loansCount);
-                    stats.put("returnsCount", returnsCount);
-
-                    return stats;
-                })
-                .sorted((a, b) -> {
-                    long totalA = (Long)a.get("booksCount") + (Long)a.get("loansCount");
-                    long totalB = (Long)b.get("booksCount") + (Long)b.get("loansCount");
-                    return Long.compare(totalB, totalA);
-                })
-                .collect(Collectors.toList());
+        return categoryService.getTopCategoriesWithStats();
     }
     // API endpoint for validating duplicate title
+    @QueryBudget(max = 0)
     @GetMapping("/api/validate-title")
     @ResponseBody
     public boolean validateTitle(@RequestParam String value, @RequestParam(required = false) String currentId) {
-        List<Book> books = bookService.getAllBooks();
-        Long currentBookId = currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
-
-        return books.stream()
-                .filter(book -> !book.getId().equals(currentBookId)) // Exclude current book in edit mode
-                .anyMatch(book -> book.getTitle().equalsIgnoreCase(value.trim()));
+        return uniquenessIndexService.isDuplicate(Field.BOOK_TITLE, value, parseId(currentId));
     }
 
     // API endpoint for validating duplicate ISBN
+    @QueryBudget(max = 0)
     @GetMapping("/api/validate-isbn")
     @ResponseBody
     public boolean validateIsbn(@RequestParam String value, @RequestParam(required = false) String currentId) {
-        List<Book> books = bookService.getAllBooks();
-        Long currentBookId = currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
-
-        return books.stream()
-                .filter(book -> !book.getId().equals(currentBookId)) // Exclude current book in edit mode
-                .anyMatch(book -> book.getIsbn().equalsIgnoreCase(value.trim()));
+        return uniquenessIndexService.isDuplicate(Field.BOOK_ISBN, value, parseId(currentId));
     }
 
     // API endpoint for validating duplicate library code
+    @QueryBudget(max = 0)
     @GetMapping("/api/validate-libraryCode")
     @ResponseBody
     public boolean validateLibraryCode(@RequestParam String value, @RequestParam(required = false) String currentId) {
-        List<Book> books = bookService.getAllBooks();
-        Long currentBookId = currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
+        return uniquenessIndexService.isDuplicate(Field.BOOK_LIBRARY_CODE, value, parseId(currentId));
+    }
 
-        return books.stream()
-                .filter(book -> !book.getId().equals(currentBookId)) // Exclude current book in edit mode
-                .anyMatch(book -> book.getLibraryCode().equalsIgnoreCase(value.trim()));
+    // Current book id in edit mode (excluded from duplicate checks)
+    private Long parseId(String currentId) {
+        return currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.librarymanagementsystem.controller;
 
+import com.example.librarymanagementsystem.config.QueryBudget;
 import com.example.librarymanagementsystem.dto.CategoryStatsDto;
 import com.example.librarymanagementsystem.service.CategoryStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,7 @@ public class CategoryStatsController {
     @Autowired
     private CategoryStatsService categoryStatsService;
 
+    @QueryBudget(max = 5)
     @GetMapping("/top")
     public List<CategoryStatsDto> getTopCategories() {
         return categoryStatsService.getTopCategories();
@@ -4,6 +4,7 @@ import com.example.librarymanagementsystem.service.HistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -18,4 +19,10 @@ public class HistoryController {
     public List<HistoryService.DailyActivity> getWeeklyActivity() {
         return historyService.getWeeklyActivity();
     }
+
+    // Activity for an arbitrary number of days, e.g. /api/history?days=30
+    @GetMapping
+    public List<HistoryService.DailyActivity> getActivity(@RequestParam(defaultValue = "7") int days) {
+        return historyService.getActivity(days);
+    }
 }
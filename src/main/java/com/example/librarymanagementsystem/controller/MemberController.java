@@ -1,7 +1,11 @@
 package com.example.librarymanagementsystem.controller;
 
+import com.example.librarymanagementsystem.config.QueryBudget;
+import com.example.librarymanagementsystem.dto.MemberLoanSummary;
 import com.example.librarymanagementsystem.entity.Member;
 import com.example.librarymanagementsystem.service.MemberService;
+import com.example.librarymanagementsystem.service.UniquenessIndexService;
+import com.example.librarymanagementsystem.service.UniquenessIndexService.Field;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,7 +18,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.Optional;
 
 @Controller
@@ -23,6 +26,9 @@ public class MemberController {
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private UniquenessIndexService uniquenessIndexService;
+
     @GetMapping
     public String listMembers(Model model) {
         model.addAttribute("members", memberService.getAllMembers());
@@ -87,59 +93,46 @@ public class MemberController {
     // Method for viewing member's loan information
     @GetMapping("/loans/{id}")
     public String viewMemberLoans(@PathVariable Long id, Model model) {
-        Optional<Member> memberOptional = memberService.getMemberById(id);
-        if (memberOptional.isEmpty()) {
+        Optional<MemberLoanSummary> summaryOptional = memberService.getMemberLoanSummary(id);
+        if (summaryOptional.isEmpty()) {
             return "redirect:/members";
         }
 
-        Member member = memberOptional.get();
-        model.addAttribute("member", member);
-        model.addAttribute("activeLoans", memberService.getActiveLoansForMember(id));
-        model.addAttribute("returnedLoans", memberService.getReturnedLoansForMember(id));
-        model.addAttribute("totalLoans", memberService.getTotalLoansForMember(id));
+        MemberLoanSummary summary = summaryOptional.get();
+        model.addAttribute("member", summary.getMember());
+        model.addAttribute("activeLoans", summary.getActiveLoans());
+        model.addAttribute("returnedLoans", summary.getReturnedLoans());
+        model.addAttribute("totalLoans", summary.getTotalLoans());
 
         return "member-loans";
     }
 
     // API endpoint for validating duplicate name
+    @QueryBudget(max = 0)
     @GetMapping("/api/validate-name")
     @ResponseBody
     public boolean validateName(@RequestParam String value, @RequestParam(required = false) String currentId) {
-        List<Member> members = memberService.getAllMembers();
-        Long currentMemberId = currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
-
-        return members.stream()
-                .filter(member -> !member.getId().equals(currentMemberId)) // Exclude current member in edit mode
-                .anyMatch(member -> member.getName().equalsIgnoreCase(value.trim()));
+        return uniquenessIndexService.isDuplicate(Field.MEMBER_NAME, value, parseId(currentId));
     }
 
     // API endpoint for validating duplicate email
+    @QueryBudget(max = 0)
     @GetMapping("/api/validate-email")
     @ResponseBody
     public boolean validateEmail(@RequestParam String value, @RequestParam(required = false) String currentId) {
-        List<Member> members = memberService.getAllMembers();
-        Long currentMemberId = currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
-
-        return members.stream()
-                .filter(member -> !member.getId().equals(currentMemberId)) // Exclude current member in edit mode
-                .anyMatch(member -> member.getEmail().equalsIgnoreCase(value.trim()));
+        return uniquenessIndexService.isDuplicate(Field.MEMBER_EMAIL, value, parseId(currentId));
     }
 
-    // API endpoint for validating duplicate phone
+    // API endpoint for validating duplicate phone (empty phone is never a duplicate since it's optional)
+    @QueryBudget(max = 0)
     @GetMapping("/api/validate-phone")
     @ResponseBody
     public boolean validatePhone(@RequestParam String value, @RequestParam(required = false) String currentId) {
-        List<Member> members = memberService.getAllMembers();
-        Long currentMemberId = currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
-
-        // Only validate if phone number is provided (since it's optional)
-        if (value == null || value.trim().isEmpty()) {
-            return false; // Empty phone is not a duplicate
-        }
+        return uniquenessIndexService.isDuplicate(Field.MEMBER_PHONE, value, parseId(currentId));
+    }
 
-        return members.stream()
-                .filter(member -> !member.getId().equals(currentMemberId)) // Exclude current member in edit mode
-                .filter(member -> member.getPhone() != null && !member.getPhone().trim().isEmpty()) // Only compare with non-empty phones
-                .anyMatch(member -> member.getPhone().equalsIgnoreCase(value.trim()));
+    // Current member id in edit mode (excluded from duplicate checks)
+    private Long parseId(String currentId) {
+        return currentId != null && !currentId.isEmpty() ? Long.parseLong(currentId) : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.example.librarymanagementsystem.dto;
+
+// Outcome of one item of a batch request, in request order
+public class BatchItemResult {
+    private int index;
+    private Long loanId;
+    private boolean success;
+    private String message;
+
+    // Constructors
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, Long loanId, boolean success, String message) {
+        this.index = index;
+        this.loanId = loanId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static BatchItemResult ok(int index, Long loanId) {
+        return new BatchItemResult(index, loanId, true, null);
+    }
+
+    public static BatchItemResult failed(int index, Long loanId, String message) {
+        return new BatchItemResult(index, loanId, false, message);
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public Long getLoanId() { return loanId; }
+    public void setLoanId(Long loanId) { this.loanId = loanId; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,9 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection with the book columns that must stay unique
+public interface BookKeys {
+    Long getId();
+    String getTitle();
+    String getIsbn();
+    String getLibraryCode();
+}
@@ -0,0 +1,7 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection for the number of loans per book
+public interface BookLoanCount {
+    Long getBookId();
+    long getBorrowCount();
+}
@@ -0,0 +1,22 @@
+package com.example.librarymanagementsystem.dto;
+
+import com.example.librarymanagementsystem.entity.Book;
+import org.springframework.data.domain.Page;
+
+/**
+ * One page of the book list. When totalEstimated is true the total count (and
+ * so the page count) is an approximation taken from the dashboard snapshot
+ * rather than a COUNT over the whole table.
+ */
+public class BookPage {
+    private final Page<Book> page;
+    private final boolean totalEstimated;
+
+    public BookPage(Page<Book> page, boolean totalEstimated) {
+        this.page = page;
+        this.totalEstimated = totalEstimated;
+    }
+
+    public Page<Book> getPage() { return page; }
+    public boolean isTotalEstimated() { return totalEstimated; }
+}
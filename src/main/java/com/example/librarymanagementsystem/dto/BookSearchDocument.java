@@ -0,0 +1,28 @@
+package com.example.librarymanagementsystem.dto;
+
+// Searchable columns of a book, loaded with a constructor expression to build the search index
+public class BookSearchDocument {
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final String isbn;
+    private final String libraryCode;
+    private final String category;
+
+    public BookSearchDocument(Long id, String title, String author, String isbn, String libraryCode, String category) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.libraryCode = libraryCode;
+        this.category = category;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public String getIsbn() { return isbn; }
+    public String getLibraryCode() { return libraryCode; }
+    public String getCategory() { return category; }
+}
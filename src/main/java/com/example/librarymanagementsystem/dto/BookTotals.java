@@ -0,0 +1,8 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection for catalogue-wide book and copy totals
+public interface BookTotals {
+    long getTotalBooks();
+    long getTotalCopies();
+    long getCopiesOnShelf();
+}
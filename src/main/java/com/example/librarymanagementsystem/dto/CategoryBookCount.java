@@ -0,0 +1,7 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection for books grouped by category
+public interface CategoryBookCount {
+    Long getCategoryId();
+    long getBooksCount();
+}
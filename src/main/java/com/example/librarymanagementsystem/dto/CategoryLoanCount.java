@@ -0,0 +1,8 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection for loans (total and returned) grouped by category
+public interface CategoryLoanCount {
+    Long getCategoryId();
+    long getLoansCount();
+    long getReturnsCount();
+}
@@ -0,0 +1,9 @@
+package com.example.librarymanagementsystem.dto;
+
+import java.time.LocalDate;
+
+// Projection for a number of rows grouped by day
+public interface DailyCount {
+    LocalDate getActivityDate();
+    long getTotal();
+}
@@ -0,0 +1,60 @@
+package com.example.librarymanagementsystem.dto;
+
+import com.example.librarymanagementsystem.entity.Book;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable read model for the dashboard page. Built in the background by
+ * DashboardSnapshotService and shared by every request until the next refresh.
+ * Panels listed in degradedPanels could not be loaded and hold fallback values;
+ * stalestPanelAt is the build time of the oldest data among them (generatedAt
+ * when every panel is fresh).
+ */
+public final class DashboardSnapshot {
+    private final long totalBooks;
+    private final long totalMembers;
+    private final long activeLoans;
+    private final long returnedLoans;
+    private final List<Map<String, Object>> topBorrowers;
+    private final List<Map<String, Object>> popularBooks;
+    private final List<Book> recentBooks;
+    private final int overdueLoansCount;
+    private final Instant generatedAt;
+    private final Set<String> degradedPanels;
+    private final Instant stalestPanelAt;
+
+    public DashboardSnapshot(long totalBooks, long totalMembers, long activeLoans, long returnedLoans,
+                             List<Map<String, Object>> topBorrowers, List<Map<String, Object>> popularBooks,
+                             List<Book> recentBooks, int overdueLoansCount, Instant generatedAt,
+                             Set<String> degradedPanels, Instant stalestPanelAt) {
+        this.totalBooks = totalBooks;
+        this.totalMembers = totalMembers;
+        this.activeLoans = activeLoans;
+        this.returnedLoans = returnedLoans;
+        this.topBorrowers = List.copyOf(topBorrowers);
+        this.popularBooks = List.copyOf(popularBooks);
+        this.recentBooks = List.copyOf(recentBooks);
+        this.overdueLoansCount = overdueLoansCount;
+        this.generatedAt = generatedAt;
+        this.degradedPanels = Set.copyOf(degradedPanels);
+        this.stalestPanelAt = stalestPanelAt;
+    }
+
+    // Getters
+    public long getTotalBooks() { return totalBooks; }
+    public long getTotalMembers() { return totalMembers; }
+    public long getActiveLoans() { return activeLoans; }
+    public long getReturnedLoans() { return returnedLoans; }
+    public List<Map<String, Object>> getTopBorrowers() { return topBorrowers; }
+    public List<Map<String, Object>> getPopularBooks() { return popularBooks; }
+    public List<Book> getRecentBooks() { return recentBooks; }
+    public int getOverdueLoansCount() { return overdueLoansCount; }
+    public Instant getGeneratedAt() { return generatedAt; }
+    public Set<String> getDegradedPanels() { return degradedPanels; }
+    public Instant getStalestPanelAt() { return stalestPanelAt; }
+    public boolean isDegraded() { return !degradedPanels.isEmpty(); }
+}
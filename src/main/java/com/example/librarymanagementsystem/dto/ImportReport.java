@@ -0,0 +1,49 @@
+package com.example.librarymanagementsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Result of a bulk import: counters plus the first errors, each tied to an input line
+public class ImportReport {
+    // Only this many row errors are kept; failed still counts all of them
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long total;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void rowRead() {
+        total++;
+    }
+
+    public void rowsImported(long count) {
+        imported += count;
+    }
+
+    public void rowFailed(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    // Getters
+    public long getTotal() { return total; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public List<RowError> getErrors() { return errors; }
+
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.librarymanagementsystem.dto;
+
+public class LibrarySummaryDto {
+    private long totalBooks;
+    private long totalMembers;
+    private long totalLoans;
+    private long activeLoans;
+    private long returnedLoans;
+    private long overdueLoans;
+    private long copiesOnShelf;
+    private long copiesOut;
+
+    // Constructors
+    public LibrarySummaryDto() {}
+
+    public LibrarySummaryDto(long totalBooks, long totalMembers, long totalLoans, long activeLoans,
+                             long returnedLoans, long overdueLoans, long copiesOnShelf, long copiesOut) {
+        this.totalBooks = totalBooks;
+        this.totalMembers = totalMembers;
+        this.totalLoans = totalLoans;
+        this.activeLoans = activeLoans;
+        this.returnedLoans = returnedLoans;
+        this.overdueLoans = overdueLoans;
+        this.copiesOnShelf = copiesOnShelf;
+        this.copiesOut = copiesOut;
+    }
+
+    // Strong ETag made of the counters themselves, so two different summaries never share a tag
+    public String toETag() {
+        return "\"" + totalBooks + "-" + totalMembers + "-" + totalLoans + "-" + activeLoans + "-"
+                + returnedLoans + "-" + overdueLoans + "-" + copiesOnShelf + "-" + copiesOut + "\"";
+    }
+
+    // Getters and Setters
+    public long getTotalBooks() { return totalBooks; }
+    public void setTotalBooks(long totalBooks) { this.totalBooks = totalBooks; }
+    public long getTotalMembers() { return totalMembers; }
+    public void setTotalMembers(long totalMembers) { this.totalMembers = totalMembers; }
+    public long getTotalLoans() { return totalLoans; }
+    public void setTotalLoans(long totalLoans) { this.totalLoans = totalLoans; }
+    public long getActiveLoans() { return activeLoans; }
+    public void setActiveLoans(long activeLoans) { this.activeLoans = activeLoans; }
+    public long getReturnedLoans() { return returnedLoans; }
+    public void setReturnedLoans(long returnedLoans) { this.returnedLoans = returnedLoans; }
+    public long getOverdueLoans() { return overdueLoans; }
+    public void setOverdueLoans(long overdueLoans) { this.overdueLoans = overdueLoans; }
+    public long getCopiesOnShelf() { return copiesOnShelf; }
+    public void setCopiesOnShelf(long copiesOnShelf) { this.copiesOnShelf = copiesOnShelf; }
+    public long getCopiesOut() { return copiesOut; }
+    public void setCopiesOut(long copiesOut) { this.copiesOut = copiesOut; }
+}
@@ -0,0 +1,11 @@
+package com.example.librarymanagementsystem.dto;
+
+import java.time.LocalDate;
+
+// Projection of a loan's id, book id, due date and return date (no entity loading)
+public interface LoanBookRef {
+    Long getId();
+    Long getBookId();
+    LocalDate getDueDate();
+    LocalDate getReturnDate();
+}
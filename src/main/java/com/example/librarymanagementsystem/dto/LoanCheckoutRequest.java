@@ -0,0 +1,27 @@
+package com.example.librarymanagementsystem.dto;
+
+import java.time.LocalDate;
+
+// One item of a batch checkout; dueDate defaults to two weeks from today
+public class LoanCheckoutRequest {
+    private Long bookId;
+    private Long memberId;
+    private LocalDate dueDate;
+
+    // Constructors
+    public LoanCheckoutRequest() {}
+
+    public LoanCheckoutRequest(Long bookId, Long memberId, LocalDate dueDate) {
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.dueDate = dueDate;
+    }
+
+    // Getters and Setters
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+}
@@ -0,0 +1,9 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection for loan totals by status
+public interface LoanTotals {
+    long getTotalLoans();
+    long getActiveLoans();
+    long getReturnedLoans();
+    long getOverdueLoans();
+}
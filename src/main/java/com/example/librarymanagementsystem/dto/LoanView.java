@@ -0,0 +1,44 @@
+package com.example.librarymanagementsystem.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Read model for loan listings (loans page and loan API): the loan columns
+ * plus the book and member fields those views show, selected with one joined
+ * query instead of loading the Book and Member entities.
+ */
+public class LoanView {
+    private final Long id;
+    private final Long bookId;
+    private final String bookTitle;
+    private final String bookLibraryCode;
+    private final Long memberId;
+    private final String memberName;
+    private final LocalDate loanDate;
+    private final LocalDate dueDate;
+    private final LocalDate returnDate;
+
+    public LoanView(Long id, Long bookId, String bookTitle, String bookLibraryCode, Long memberId, String memberName,
+                    LocalDate loanDate, LocalDate dueDate, LocalDate returnDate) {
+        this.id = id;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.bookLibraryCode = bookLibraryCode;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.loanDate = loanDate;
+        this.dueDate = dueDate;
+        this.returnDate = returnDate;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getBookId() { return bookId; }
+    public String getBookTitle() { return bookTitle; }
+    public String getBookLibraryCode() { return bookLibraryCode; }
+    public Long getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public LocalDate getLoanDate() { return loanDate; }
+    public LocalDate getDueDate() { return dueDate; }
+    public LocalDate getReturnDate() { return returnDate; }
+}
@@ -0,0 +1,9 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection with the member columns that must stay unique
+public interface MemberKeys {
+    Long getId();
+    String getName();
+    String getEmail();
+    String getPhone();
+}
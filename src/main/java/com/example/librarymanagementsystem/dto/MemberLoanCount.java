@@ -0,0 +1,7 @@
+package com.example.librarymanagementsystem.dto;
+
+// Projection for the number of loans per member
+public interface MemberLoanCount {
+    Long getMemberId();
+    long getLoanCount();
+}
@@ -0,0 +1,24 @@
+package com.example.librarymanagementsystem.dto;
+
+import com.example.librarymanagementsystem.entity.Member;
+
+// Member loans page: the member and their loan counts, read in one transaction
+public class MemberLoanSummary {
+    private final Member member;
+    private final long activeLoans;
+    private final long returnedLoans;
+    private final long totalLoans;
+
+    public MemberLoanSummary(Member member, long activeLoans, long returnedLoans, long totalLoans) {
+        this.member = member;
+        this.activeLoans = activeLoans;
+        this.returnedLoans = returnedLoans;
+        this.totalLoans = totalLoans;
+    }
+
+    // Getters
+    public Member getMember() { return member; }
+    public long getActiveLoans() { return activeLoans; }
+    public long getReturnedLoans() { return returnedLoans; }
+    public long getTotalLoans() { return totalLoans; }
+}
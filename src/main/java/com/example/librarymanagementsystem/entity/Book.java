@@ -1,9 +1,11 @@
 package com.example.librarymanagementsystem.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_book_category_id", columnList = "category_id"))
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,7 +20,13 @@ public class Book {
     @Column(name = "library_code", unique = true)
     private String libraryCode;
 
-    @Column(name = "book_category")
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    // Category name as submitted by forms/JSON; BookService resolves it to the category reference
+    @Transient
     private String bookCategory;
 
     @Column(name = "created_date")
@@ -58,7 +66,15 @@ public class Book {
     public void setAvailableCopies(int availableCopies) { this.availableCopies = availableCopies; }
     public String getLibraryCode() { return libraryCode; }
     public void setLibraryCode(String libraryCode) { this.libraryCode = libraryCode; }
-    public String getBookCategory() { return bookCategory; }
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) {
+        this.category = category;
+        this.bookCategory = category != null ? category.getName() : null;
+    }
+    // Submitted name if set, otherwise the name of the referenced category
+    public String getBookCategory() {
+        return bookCategory != null ? bookCategory : (category != null ? category.getName() : null);
+    }
     public void setBookCategory(String bookCategory) { this.bookCategory = bookCategory; }
     public LocalDate getCreatedDate() { return createdDate; }
     public void setCreatedDate(LocalDate createdDate) { this.createdDate = createdDate; }
@@ -0,0 +1,54 @@
+package com.example.librarymanagementsystem.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// One row per day with the activity counters shown on the history charts
+@Entity
+@Table(name = "daily_activity_rollup")
+public class DailyActivityRollup {
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    @Column(name = "books_added", nullable = false)
+    private int booksAdded;
+
+    @Column(name = "books_deleted", nullable = false)
+    private int booksDeleted;
+
+    @Column(name = "members_added", nullable = false)
+    private int membersAdded;
+
+    @Column(name = "members_deleted", nullable = false)
+    private int membersDeleted;
+
+    @Column(name = "new_loans", nullable = false)
+    private int newLoans;
+
+    @Column(name = "returned_loans", nullable = false)
+    private int returnedLoans;
+
+    // Constructors
+    public DailyActivityRollup() {}
+
+    public DailyActivityRollup(LocalDate activityDate) {
+        this.activityDate = activityDate;
+    }
+
+    // Getters and Setters
+    public LocalDate getActivityDate() { return activityDate; }
+    public void setActivityDate(LocalDate activityDate) { this.activityDate = activityDate; }
+    public int getBooksAdded() { return booksAdded; }
+    public void setBooksAdded(int booksAdded) { this.booksAdded = booksAdded; }
+    public int getBooksDeleted() { return booksDeleted; }
+    public void setBooksDeleted(int booksDeleted) { this.booksDeleted = booksDeleted; }
+    public int getMembersAdded() { return membersAdded; }
+    public void setMembersAdded(int membersAdded) { this.membersAdded = membersAdded; }
+    public int getMembersDeleted() { return membersDeleted; }
+    public void setMembersDeleted(int membersDeleted) { this.membersDeleted = membersDeleted; }
+    public int getNewLoans() { return newLoans; }
+    public void setNewLoans(int newLoans) { this.newLoans = newLoans; }
+    public int getReturnedLoans() { return returnedLoans; }
+    public void setReturnedLoans(int returnedLoans) { this.returnedLoans = returnedLoans; }
+}
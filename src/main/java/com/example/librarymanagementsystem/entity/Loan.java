@@ -4,16 +4,18 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_loan_return_due", columnList = "return_date, due_date"))
 public class Loan {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    // LAZY: listings read LoanView projections; loading the entity never pulls in book and member
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id")
     private Book book;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
     private Member member;
 
@@ -0,0 +1,44 @@
+package com.example.librarymanagementsystem.repository;
+
+import com.example.librarymanagementsystem.entity.Book;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch insert for the bulk catalog import. Book ids are IDENTITY
+ * columns, so Hibernate would insert row by row; this sends one batch per
+ * call on the connection of the surrounding transaction.
+ */
+@Repository
+public class BookBatchRepository {
+    private static final String INSERT_BOOK =
+            "INSERT INTO book (title, author, isbn, publication_year, total_copies, available_copies, " +
+            "library_code, category_id, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Insert the books (category must already be resolved) in one JDBC batch
+    public void insertBooks(List<Book> books) {
+        jdbcTemplate.batchUpdate(INSERT_BOOK, books, books.size(), (ps, book) -> {
+            ps.setString(1, book.getTitle());
+            ps.setString(2, book.getAuthor());
+            ps.setString(3, book.getIsbn());
+            ps.setInt(4, book.getPublicationYear());
+            ps.setInt(5, book.getTotalCopies());
+            ps.setInt(6, book.getAvailableCopies());
+            ps.setString(7, book.getLibraryCode());
+            if (book.getCategory() != null) {
+                ps.setLong(8, book.getCategory().getId());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setDate(9, Date.valueOf(book.getCreatedDate()));
+        });
+    }
+}
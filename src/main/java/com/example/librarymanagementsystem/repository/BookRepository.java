@@ -1,16 +1,64 @@
 package com.example.librarymanagementsystem.repository;
 
+import com.example.librarymanagementsystem.dto.BookKeys;
+import com.example.librarymanagementsystem.dto.BookSearchDocument;
+import com.example.librarymanagementsystem.dto.BookTotals;
+import com.example.librarymanagementsystem.dto.CategoryBookCount;
+import com.example.librarymanagementsystem.dto.DailyCount;
 import com.example.librarymanagementsystem.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
 
-    // Search by category
-    List<Book> findByBookCategoryIgnoreCase(String bookCategory);
+    // Single book, list and id lookups load the category with the book: views render
+    // book.bookCategory after the transaction has ended (open-session-in-view is off)
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Book> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Book> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Book> findAllById(Iterable<Long> ids);
+
+    // Search by category name
+    @EntityGraph(attributePaths = "category")
+    List<Book> findByCategoryNameIgnoreCase(String name);
+
+    // Page of a category's books; the count query goes through idx_book_category_id
+    @EntityGraph(attributePaths = "category")
+    Page<Book> findByCategoryNameIgnoreCase(String name, Pageable pageable);
+
+    // Page of all books with an exact total (COUNT over the whole table)
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Book> findAll(Pageable pageable);
+
+    // Page of all books without a count query
+    @EntityGraph(attributePaths = "category")
+    Slice<Book> findAllBy(Pageable pageable);
+
+    // Count books referencing a category (uses idx_book_category_id)
+    long countByCategoryId(Long categoryId);
 
     // Search by title containing keyword
     List<Book> findByTitleContainingIgnoreCase(String title);
@@ -21,23 +69,98 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     // Search by library code
     List<Book> findByLibraryCodeContainingIgnoreCase(String libraryCode);
 
-    // Advanced search
-    @Query("SELECT b FROM Book b WHERE " +
+    // Advanced search (ids only; the JPQL fallback of the catalog search engine)
+    @Query("SELECT b.id FROM Book b LEFT JOIN b.category c WHERE " +
             "(:title IS NULL OR :title = '' OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
             "(:author IS NULL OR :author = '' OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
-            "(:category IS NULL OR :category = '' OR LOWER(b.bookCategory) = LOWER(:category)) AND " +
+            "(:category IS NULL OR :category = '' OR LOWER(c.name) = LOWER(:category)) AND " +
             "(:libraryCode IS NULL OR :libraryCode = '' OR LOWER(b.libraryCode) LIKE LOWER(CONCAT('%', :libraryCode, '%'))) AND " +
-            "(:isbn IS NULL OR :isbn = '' OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :isbn, '%')))")
-    List<Book> findBooksWithFilters(@Param("title") String title,
-                                    @Param("author") String author,
-                                    @Param("category") String category,
-                                    @Param("libraryCode") String libraryCode,
-                                    @Param("isbn") String isbn);
+            "(:isbn IS NULL OR :isbn = '' OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :isbn, '%'))) " +
+            "ORDER BY b.id")
+    List<Long> findBookIdsWithFilters(@Param("title") String title,
+                                      @Param("author") String author,
+                                      @Param("category") String category,
+                                      @Param("libraryCode") String libraryCode,
+                                      @Param("isbn") String isbn);
+
+    // Books with the word in title, author, library code or ISBN (ids only; the JPQL engine runs one per keyword word)
+    @Query("SELECT b.id FROM Book b WHERE " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.libraryCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.isbn) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "ORDER BY b.id")
+    List<Long> searchBookIds(@Param("keyword") String keyword);
+
+    // Searchable columns of every book in id order, so the search index appends to its posting lists
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.librarymanagementsystem.dto.BookSearchDocument(" +
+            "b.id, b.title, b.author, b.isbn, b.libraryCode, c.name) FROM Book b LEFT JOIN b.category c ORDER BY b.id")
+    Stream<BookSearchDocument> streamSearchDocuments();
 
     // Find all distinct categories
-    @Query("SELECT DISTINCT b.bookCategory FROM Book b WHERE b.bookCategory IS NOT NULL ORDER BY b.bookCategory")
+    @Query("SELECT DISTINCT c.name FROM Book b JOIN b.category c ORDER BY c.name")
     List<String> findAllDistinctCategories();
 
+    // Count books for every category in a single grouped query on the category_id index
+    @Query("SELECT b.category.id AS categoryId, COUNT(b) AS booksCount FROM Book b " +
+            "WHERE b.category IS NOT NULL GROUP BY b.category.id")
+    List<CategoryBookCount> countBooksGroupedByCategory();
+
+    // Latest books by id (newer books have higher ids)
+    @EntityGraph(attributePaths = "category")
+    List<Book> findTop5ByOrderByIdDesc();
+
+    // Books added per day (used to backfill the activity rollup)
+    @Query("SELECT b.createdDate AS activityDate, COUNT(b) AS total FROM Book b " +
+            "WHERE b.createdDate IS NOT NULL GROUP BY b.createdDate")
+    List<DailyCount> countBooksGroupedByCreatedDate();
+
+    // Keyset page: books with id greater than the cursor, in id order
+    @EntityGraph(attributePaths = "category")
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Stream all books in id order (MySQL needs useCursorFetch=true for the fetch size to apply)
+    @EntityGraph(attributePaths = "category")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Book> streamAllByOrderByIdAsc();
+
+    // Book count and copy totals in one pass
+    @Query("SELECT COUNT(b) AS totalBooks, COALESCE(SUM(b.totalCopies), 0) AS totalCopies, " +
+            "COALESCE(SUM(b.availableCopies), 0) AS copiesOnShelf FROM Book b")
+    BookTotals summarizeCopies();
+
+    // Take one copy off the shelf if any is left; returns 0 when none was available
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1 WHERE b.id = :id AND b.availableCopies > 0")
+    int decrementAvailableCopies(@Param("id") Long id);
+
+    // Put one copy back on the shelf without exceeding the total; returns 0 when already full
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + 1 WHERE b.id = :id AND b.availableCopies < b.totalCopies")
+    int incrementAvailableCopies(@Param("id") Long id);
+
+    // Which of the given ids exist (batch checkout validation)
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     // Check if library code exists
     boolean existsByLibraryCode(String libraryCode);
+
+    // Duplicate checks used when the uniqueness index is not loaded.
+    // Plain equality so the column indexes apply; the column collation makes it case-insensitive
+    boolean existsByTitle(String title);
+    boolean existsByTitleAndIdNot(String title, Long id);
+    boolean existsByIsbn(String isbn);
+    boolean existsByIsbnAndIdNot(String isbn, Long id);
+    boolean existsByLibraryCodeAndIdNot(String libraryCode, Long id);
+
+    // Unique columns of every book (used to warm the uniqueness index)
+    @Query("SELECT b.id AS id, b.title AS title, b.isbn AS isbn, b.libraryCode AS libraryCode FROM Book b")
+    List<BookKeys> findAllKeys();
+
+    // Unique columns of the books with the given library codes (ids of freshly imported rows)
+    @Query("SELECT b.id AS id, b.title AS title, b.isbn AS isbn, b.libraryCode AS libraryCode FROM Book b " +
+            "WHERE b.libraryCode IN :libraryCodes")
+    List<BookKeys> findKeysByLibraryCodeIn(@Param("libraryCodes") Collection<String> libraryCodes);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.librarymanagementsystem.repository;
 
+import com.example.librarymanagementsystem.config.CacheConfig;
 import com.example.librarymanagementsystem.entity.Category;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,18 +13,26 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-    // Find category by name
+    // Find category by name (cached; misses are not cached so a new name is seen at once)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_BY_NAME, unless = "#result == null")
     Optional<Category> findByName(String name);
 
     // Check if category exists by name
     boolean existsByName(String name);
 
-    // Find all categories ordered by name
+    // Find all categories ordered by name (cached)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LISTS, key = "'all'")
     List<Category> findAllByOrderByNameAsc();
 
     // Search categories by name (case-insensitive)
     List<Category> findByNameContainingIgnoreCase(String name);
 
-    // Find all active categories ordered by name
+    // Find all active categories ordered by name (cached)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LISTS, key = "'active'")
     List<Category> findAllByActiveTrueOrderByNameAsc();
+
+    // Every category write goes through save, so it clears the cached lookups (after commit)
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORY_BY_NAME, CacheConfig.CATEGORY_LISTS}, allEntries = true)
+    <S extends Category> S save(S category);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.example.librarymanagementsystem.repository;
+
+import com.example.librarymanagementsystem.entity.DailyActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyActivityRollupRepository extends JpaRepository<DailyActivityRollup, LocalDate> {
+
+    // Rollup rows for a date range (inclusive), oldest first
+    List<DailyActivityRollup> findByActivityDateBetweenOrderByActivityDateAsc(LocalDate start, LocalDate end);
+
+    // Add deltas to a day's counters, creating the row on first use (single statement)
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollup " +
+            "(activity_date, books_added, books_deleted, members_added, members_deleted, new_loans, returned_loans) " +
+            "VALUES (:day, :booksAdded, :booksDeleted, :membersAdded, :membersDeleted, :newLoans, :returnedLoans) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "books_added = books_added + VALUES(books_added), " +
+            "books_deleted = books_deleted + VALUES(books_deleted), " +
+            "members_added = members_added + VALUES(members_added), " +
+            "members_deleted = members_deleted + VALUES(members_deleted), " +
+            "new_loans = new_loans + VALUES(new_loans), " +
+            "returned_loans = returned_loans + VALUES(returned_loans)",
+            nativeQuery = true)
+    void addToDay(@Param("day") LocalDate day,
+                  @Param("booksAdded") int booksAdded,
+                  @Param("booksDeleted") int booksDeleted,
+                  @Param("membersAdded") int membersAdded,
+                  @Param("membersDeleted") int membersDeleted,
+                  @Param("newLoans") int newLoans,
+                  @Param("returnedLoans") int returnedLoans);
+
+    // Set a day's added/loan/return counters, creating the row if needed; deletion counters are kept
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollup " +
+            "(activity_date, books_added, books_deleted, members_added, members_deleted, new_loans, returned_loans) " +
+            "VALUES (:day, :booksAdded, 0, :membersAdded, 0, :newLoans, :returnedLoans) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "books_added = VALUES(books_added), " +
+            "members_added = VALUES(members_added), " +
+            "new_loans = VALUES(new_loans), " +
+            "returned_loans = VALUES(returned_loans)",
+            nativeQuery = true)
+    void setDay(@Param("day") LocalDate day,
+                @Param("booksAdded") int booksAdded,
+                @Param("membersAdded") int membersAdded,
+                @Param("newLoans") int newLoans,
+                @Param("returnedLoans") int returnedLoans);
+}
@@ -0,0 +1,115 @@
+package com.example.librarymanagementsystem.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch statements for the bulk checkout/return endpoints. Loan ids are
+ * IDENTITY columns, which stops Hibernate from batching inserts, so these
+ * statements go through JdbcTemplate on the connection of the surrounding JPA
+ * transaction. Each batch is sent in chunks of hibernate.jdbc.batch_size.
+ * With rewriteBatchedStatements, MySQL Connector/J sends the UPDATE batches
+ * as multi-statement queries, which still report one count per row.
+ */
+@Repository
+public class LoanBatchRepository {
+    private static final String TAKE_COPY =
+            "UPDATE book SET available_copies = available_copies - 1 WHERE id = ? AND available_copies > 0";
+    private static final String RESTORE_COPIES =
+            "UPDATE book SET available_copies = LEAST(available_copies + ?, total_copies) WHERE id = ?";
+    private static final String INSERT_LOAN =
+            "INSERT INTO loan (book_id, member_id, loan_date, due_date) VALUES (?, ?, ?, ?)";
+    private static final String MARK_RETURNED =
+            "UPDATE loan SET return_date = ? WHERE id = ? AND return_date IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    // Take one copy per entry (a book id may repeat); element i is 0 when book i had no copy left
+    public int[] takeCopies(List<Long> bookIds) {
+        return flatten(jdbcTemplate.batchUpdate(TAKE_COPY, bookIds, batchSize,
+                (ps, bookId) -> ps.setLong(1, bookId)), bookIds.size());
+    }
+
+    // Put copies back on the shelf, capped at the total copies of each book
+    public void restoreCopies(Map<Long, Integer> copiesByBookId) {
+        jdbcTemplate.batchUpdate(RESTORE_COPIES, new ArrayList<>(copiesByBookId.entrySet()), batchSize,
+                (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    // Insert loans row by row from parallel lists; returns the generated ids in the same order
+    public List<Long> insertLoans(List<Long> bookIds, List<Long> memberIds, LocalDate loanDate, List<LocalDate> dueDates) {
+        List<Long> ids = new ArrayList<>(bookIds.size());
+        for (int from = 0; from < bookIds.size(); from += batchSize) {
+            int offset = from;
+            int size = Math.min(batchSize, bookIds.size() - from);
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_LOAN, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setLong(1, bookIds.get(offset + i));
+                            ps.setLong(2, memberIds.get(offset + i));
+                            ps.setDate(3, Date.valueOf(loanDate));
+                            ps.setDate(4, Date.valueOf(dueDates.get(offset + i)));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> row : keys.getKeyList()) {
+                ids.add(((Number) row.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    // Set the return date of every still-open loan; element i is 0 when loan i was already returned
+    public int[] markReturned(List<Long> loanIds, LocalDate returnDate) {
+        Date date = Date.valueOf(returnDate);
+        return flatten(jdbcTemplate.batchUpdate(MARK_RETURNED, loanIds, batchSize,
+                (ps, loanId) -> {
+                    ps.setDate(1, date);
+                    ps.setLong(2, loanId);
+                }), loanIds.size());
+    }
+
+    // Per-row update counts; the callers decide per row, so a driver answer without them is an error, not a success
+    private static int[] flatten(int[][] chunks, int size) {
+        int[] counts = new int[size];
+        int i = 0;
+        for (int[] chunk : chunks) {
+            for (int count : chunk) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("The JDBC driver did not report per-row update counts for the batch.");
+                }
+                counts[i++] = count;
+            }
+        }
+        return counts;
+    }
+}
@@ -1,14 +1,38 @@
 package com.example.librarymanagementsystem.repository;
 
+import com.example.librarymanagementsystem.dto.BookLoanCount;
+import com.example.librarymanagementsystem.dto.CategoryLoanCount;
+import com.example.librarymanagementsystem.dto.DailyCount;
+import com.example.librarymanagementsystem.dto.LoanBookRef;
+import com.example.librarymanagementsystem.dto.LoanTotals;
+import com.example.librarymanagementsystem.dto.LoanView;
+import com.example.librarymanagementsystem.dto.MemberLoanCount;
 import com.example.librarymanagementsystem.entity.Loan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
+    // LoanView: ជួរឈរនៃការខ្ចី + ចំណងជើងសៀវភៅ + ឈ្មោះសមាជិក ក្នុង query join តែមួយ
+    String LOAN_VIEW = "SELECT new com.example.librarymanagementsystem.dto.LoanView(" +
+            "l.id, b.id, b.title, b.libraryCode, m.id, m.name, l.loanDate, l.dueDate, l.returnDate) " +
+            "FROM Loan l LEFT JOIN l.book b LEFT JOIN l.member m ";
+
     // រាប់ការខ្ចីដែលមិនទាន់ត្រលប់
     long countByReturnDateIsNull();
 
@@ -40,4 +64,76 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     List<Loan> findByMemberIdAndReturnDateIsNotNull(Long memberId);
 
     List<Loan> findByReturnDateIsNull();
+
+    // កំណត់ថ្ងៃត្រលប់ បើការខ្ចីមិនទាន់ត្រលប់ (return 0 បើត្រលប់រួចហើយ)
+    @Modifying
+    @Query("UPDATE Loan l SET l.returnDate = :returnDate WHERE l.id = :id AND l.returnDate IS NULL")
+    int markReturned(@Param("id") Long id, @Param("returnDate") LocalDate returnDate);
+
+    // id, book id និងថ្ងៃត្រលប់ នៃការខ្ចីតាម ids (សម្រាប់ batch return)
+    @Query("SELECT l.id AS id, l.book.id AS bookId, l.dueDate AS dueDate, l.returnDate AS returnDate FROM Loan l WHERE l.id IN :ids")
+    List<LoanBookRef> findBookRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ការខ្ចីទាំងអស់ជា LoanView តាមលំដាប់ id
+    @Query(LOAN_VIEW + "ORDER BY l.id")
+    List<LoanView> findAllViews();
+
+    // ការខ្ចីមួយជា LoanView
+    @Query(LOAN_VIEW + "WHERE l.id = :id")
+    Optional<LoanView> findViewById(@Param("id") Long id);
+
+    // Keyset page: ការខ្ចីដែល id ធំជាង cursor តាមលំដាប់ id
+    @Query(LOAN_VIEW + "WHERE l.id > :id ORDER BY l.id")
+    List<LoanView> findViewsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Stream ការខ្ចីទាំងអស់តាមលំដាប់ id (MySQL ត្រូវការ useCursorFetch=true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(LOAN_VIEW + "ORDER BY l.id")
+    Stream<LoanView> streamAllViews();
+
+    // រាប់ការខ្ចីដែលហួសកំណត់ពេល (មិនទាន់ត្រលប់ ហើយ due date មុនថ្ងៃដែលបានផ្តល់)
+    long countByReturnDateIsNullAndDueDateBefore(LocalDate date);
+
+    // ការខ្ចីហួសកំណត់ពេល តាមទំព័រ (ប្រើ index (return_date, due_date))
+    @Query(value = LOAN_VIEW + "WHERE l.returnDate IS NULL AND l.dueDate < :date ORDER BY l.dueDate, l.id",
+            countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.returnDate IS NULL AND l.dueDate < :date")
+    Page<LoanView> findOverdueViews(@Param("date") LocalDate date, Pageable pageable);
+
+    // ការខ្ចីហួសកំណត់ពេលទាំងអស់
+    @Query(LOAN_VIEW + "WHERE l.returnDate IS NULL AND l.dueDate < :date ORDER BY l.dueDate, l.id")
+    List<LoanView> findOverdueViews(@Param("date") LocalDate date);
+
+    // ចំនួនការខ្ចីសរុប តាមស្ថានភាព (active, returned, overdue) ក្នុង query តែមួយ
+    @Query("SELECT COUNT(l) AS totalLoans, " +
+            "COALESCE(SUM(CASE WHEN l.returnDate IS NULL THEN 1 ELSE 0 END), 0) AS activeLoans, " +
+            "COALESCE(SUM(CASE WHEN l.returnDate IS NOT NULL THEN 1 ELSE 0 END), 0) AS returnedLoans, " +
+            "COALESCE(SUM(CASE WHEN l.returnDate IS NULL AND l.dueDate < :today THEN 1 ELSE 0 END), 0) AS overdueLoans " +
+            "FROM Loan l")
+    LoanTotals summarizeLoans(@Param("today") LocalDate today);
+
+    // សមាជិកដែលខ្ចីច្រើនជាងគេ (Top N តាម Pageable)
+    @Query("SELECT l.member.id AS memberId, COUNT(l) AS loanCount FROM Loan l " +
+            "GROUP BY l.member.id ORDER BY COUNT(l) DESC, l.member.id ASC")
+    List<MemberLoanCount> findTopBorrowers(Pageable pageable);
+
+    // សៀវភៅដែលត្រូវបានខ្ចីច្រើនជាងគេ (Top N តាម Pageable)
+    @Query("SELECT l.book.id AS bookId, COUNT(l) AS borrowCount FROM Loan l " +
+            "GROUP BY l.book.id ORDER BY COUNT(l) DESC, l.book.id ASC")
+    List<BookLoanCount> findMostBorrowedBooks(Pageable pageable);
+
+    // រាប់ការខ្ចីទាំងអស់ និងការខ្ចីដែលត្រលប់រួច តាមប្រភេទសៀវភៅ (query តែមួយ, group តាម category_id)
+    @Query("SELECT b.category.id AS categoryId, COUNT(l) AS loansCount, " +
+            "SUM(CASE WHEN l.returnDate IS NOT NULL THEN 1 ELSE 0 END) AS returnsCount " +
+            "FROM Loan l JOIN l.book b WHERE b.category IS NOT NULL GROUP BY b.category.id")
+    List<CategoryLoanCount> countLoansGroupedByCategory();
+
+    // ការខ្ចីថ្មីតាមថ្ងៃ (សម្រាប់ backfill activity rollup)
+    @Query("SELECT l.loanDate AS activityDate, COUNT(l) AS total FROM Loan l " +
+            "WHERE l.loanDate IS NOT NULL GROUP BY l.loanDate")
+    List<DailyCount> countLoansGroupedByLoanDate();
+
+    // ការត្រលប់សៀវភៅតាមថ្ងៃ (សម្រាប់ backfill activity rollup)
+    @Query("SELECT l.returnDate AS activityDate, COUNT(l) AS total FROM Loan l " +
+            "WHERE l.returnDate IS NOT NULL GROUP BY l.returnDate")
+    List<DailyCount> countLoansGroupedByReturnDate();
 }
\ No newline at end of file
@@ -1,7 +1,48 @@
 package com.example.librarymanagementsystem.repository;
 
+import com.example.librarymanagementsystem.dto.DailyCount;
+import com.example.librarymanagementsystem.dto.MemberKeys;
 import com.example.librarymanagementsystem.entity.Member;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
+
+    // Members registered per day (used to backfill the activity rollup)
+    @Query("SELECT m.registeredDate AS activityDate, COUNT(m) AS total FROM Member m " +
+            "WHERE m.registeredDate IS NOT NULL GROUP BY m.registeredDate")
+    List<DailyCount> countMembersGroupedByRegisteredDate();
+
+    // Which of the given ids exist (batch checkout validation)
+    @Query("SELECT m.id FROM Member m WHERE m.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset page: members with id greater than the cursor, in id order
+    List<Member> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Stream all members in id order (MySQL needs useCursorFetch=true for the fetch size to apply)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Member> streamAllByOrderByIdAsc();
+
+    // Duplicate checks used when the uniqueness index is not loaded.
+    // Plain equality so the column indexes apply; the column collation makes it case-insensitive
+    boolean existsByName(String name);
+    boolean existsByNameAndIdNot(String name, Long id);
+    boolean existsByEmail(String email);
+    boolean existsByEmailAndIdNot(String email, Long id);
+    boolean existsByPhone(String phone);
+    boolean existsByPhoneAndIdNot(String phone, Long id);
+
+    // Unique columns of every member (used to warm the uniqueness index)
+    @Query("SELECT m.id AS id, m.name AS name, m.email AS email, m.phone AS phone FROM Member m")
+    List<MemberKeys> findAllKeys();
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.librarymanagementsystem.search;
+
+import com.example.librarymanagementsystem.entity.Book;
+
+import java.util.List;
+
+/**
+ * Pluggable book search backend used by BookService. Implementations return
+ * book ids; loading the Book rows is left to the caller so results can be
+ * paged before they are fetched.
+ */
+public interface CatalogSearchEngine {
+
+    // Name used by the catalog.search.engine property
+    String name();
+
+    // False while the engine cannot answer queries (e.g. its index is still being built)
+    boolean isReady();
+
+    // Ids of books matching every word of the keyword in title, author, library code or ISBN, best match first
+    List<Long> search(String keyword);
+
+    // Ids of books matching all non-empty filters (substring match, category exact match), in id order
+    List<Long> filter(String title, String author, String category, String libraryCode, String isbn);
+
+    // Called after a book has been saved
+    default void index(Book book) {}
+
+    // Called after a book has been deleted
+    default void remove(Long bookId) {}
+
+    // Reload everything from the book table (e.g. after a bulk import)
+    default void rebuild() {}
+
+    // Called after a category has been renamed (books keep their category id)
+    default void renameCategory(String oldName, String newName) {}
+}
@@ -0,0 +1,58 @@
+package com.example.librarymanagementsystem.search;
+
+import com.example.librarymanagementsystem.entity.Book;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Routes catalog searches to the engine named by catalog.search.engine
+ * (index or jpql), falling back to JPQL while the configured engine is not ready.
+ */
+@Service
+public class CatalogSearchService {
+    @Autowired
+    private List<CatalogSearchEngine> engines;
+
+    @Autowired
+    private JpqlCatalogSearchEngine fallbackEngine;
+
+    @Value("${catalog.search.engine:index}")
+    private String engineName;
+
+    public List<Long> search(String keyword) {
+        return activeEngine().search(keyword);
+    }
+
+    public List<Long> filter(String title, String author, String category, String libraryCode, String isbn) {
+        return activeEngine().filter(title, author, category, libraryCode, isbn);
+    }
+
+    // Keep every engine's index in step with the book table
+    public void index(Book book) {
+        engines.forEach(engine -> engine.index(book));
+    }
+
+    public void remove(Long bookId) {
+        engines.forEach(engine -> engine.remove(bookId));
+    }
+
+    public void rebuild() {
+        engines.forEach(CatalogSearchEngine::rebuild);
+    }
+
+    public void renameCategory(String oldName, String newName) {
+        engines.forEach(engine -> engine.renameCategory(oldName, newName));
+    }
+
+    private CatalogSearchEngine activeEngine() {
+        for (CatalogSearchEngine engine : engines) {
+            if (engine.name().equals(engineName) && engine.isReady()) {
+                return engine;
+            }
+        }
+        return fallbackEngine;
+    }
+}
@@ -0,0 +1,484 @@
+package com.example.librarymanagementsystem.search;
+
+import com.example.librarymanagementsystem.config.ReadRouting;
+import com.example.librarymanagementsystem.dto.BookSearchDocument;
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Embedded inverted index over the book table.
+ *
+ * Each searchable field keeps a token -> posting list map plus a trigram ->
+ * token map over its vocabulary. A query word is resolved to the vocabulary
+ * tokens that contain it (trigram lookup, or a vocabulary scan for words
+ * shorter than three characters), so substring matching never scans books.
+ * Keyword results are ranked by field weight and match quality (exact token,
+ * prefix, substring); filter results keep LIKE semantics by checking the
+ * candidates against the stored field value.
+ *
+ * rebuild() streams the table into a new index without holding the lock and
+ * swaps it in at the end; searches keep using the old one meanwhile, and
+ * changes made during the rebuild are replayed onto the new one.
+ */
+@Component
+public class InvertedIndexCatalogSearchEngine implements CatalogSearchEngine {
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndexCatalogSearchEngine.class);
+
+    private static final int GRAM = 3;
+
+    private static final int EXACT_MATCH = 3;
+    private static final int PREFIX_MATCH = 2;
+    private static final int SUBSTRING_MATCH = 1;
+
+    enum SearchField {
+        TITLE(4), AUTHOR(3), LIBRARY_CODE(2), ISBN(2);
+
+        final int weight;
+
+        SearchField(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; replaced as a whole by rebuild()
+    private Index index = new Index();
+    // Changes applied while a rebuild is streaming, replayed onto the new index (null when not rebuilding)
+    private List<Consumer<Index>> changesDuringRebuild;
+    private volatile boolean ready;
+
+    @Override
+    public String name() {
+        return "index";
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Build a new index from the book table and swap it in (searches use the JPQL engine until the first build finishes)
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            // Reads the primary (the connection is opened at the first statement)
+            ReadRouting.runOnPrimary(() -> {
+                try (Stream<BookSearchDocument> rows = bookRepository.streamSearchDocuments()) {
+                    rows.forEach(row -> rebuilt.add(new Document(row.getId(), row.getTitle(), row.getAuthor(),
+                            row.getIsbn(), row.getLibraryCode(), row.getCategory())));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Changes the stream may have missed; each is idempotent, so replaying one it did see is harmless
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Catalog search index built for {} book(s)", rebuilt.documents.size());
+    }
+
+    @Override
+    public void index(Book book) {
+        Document document = new Document(book.getId(), book.getTitle(), book.getAuthor(),
+                book.getIsbn(), book.getLibraryCode(), book.getBookCategory());
+        change(target -> {
+            target.removeDocument(document.id);
+            target.add(document);
+        });
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        change(target -> target.removeDocument(bookId));
+    }
+
+    @Override
+    public void renameCategory(String oldName, String newName) {
+        String from = SearchText.normalize(oldName);
+        String to = SearchText.normalize(newName);
+        if (!from.equals(to)) {
+            change(target -> target.renameCategory(from, to));
+        }
+    }
+
+    // Apply a change to the live index, and remember it for the new index if a rebuild is running
+    private void change(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String keyword) {
+        List<String> terms = SearchText.words(SearchText.normalize(keyword));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Every word must match some field; a book's score is the sum of its best match per word
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = new HashMap<>();
+                for (SearchField field : SearchField.values()) {
+                    FieldIndex fieldIndex = index.fields.get(field);
+                    for (String token : fieldIndex.tokensContaining(term)) {
+                        int score = matchQuality(token, term) * field.weight;
+                        fieldIndex.postings(token).forEach(id -> termScores.merge(id, score, Math::max));
+                    }
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Long> ids = new ArrayList<>(ranked.size());
+            ranked.forEach(entry -> ids.add(entry.getKey()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> filter(String title, String author, String category, String libraryCode, String isbn) {
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            String normalizedCategory = SearchText.normalize(category);
+            if (!normalizedCategory.isEmpty()) {
+                PostingList postings = index.byCategory.get(normalizedCategory);
+                result = new HashSet<>();
+                if (postings != null) {
+                    postings.forEach(result::add);
+                }
+            }
+            result = intersect(result, SearchField.TITLE, title);
+            result = intersect(result, SearchField.AUTHOR, author);
+            result = intersect(result, SearchField.LIBRARY_CODE, libraryCode);
+            result = intersect(result, SearchField.ISBN, isbn);
+
+            if (result == null) {
+                result = index.documents.keySet();
+            }
+            List<Long> ids = new ArrayList<>(result);
+            ids.sort(null);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Narrow the running result to books whose field contains the phrase (no-op for an empty phrase)
+    private Set<Long> intersect(Set<Long> result, SearchField field, String phrase) {
+        String normalized = SearchText.normalize(phrase);
+        if (normalized.isEmpty() || (result != null && result.isEmpty())) {
+            return result;
+        }
+
+        Set<Long> candidates = null;
+        FieldIndex fieldIndex = index.fields.get(field);
+        for (String term : SearchText.words(normalized)) {
+            Set<Long> termIds = new HashSet<>();
+            for (String token : fieldIndex.tokensContaining(term)) {
+                fieldIndex.postings(token).forEach(termIds::add);
+            }
+            if (candidates == null) {
+                candidates = termIds;
+            } else {
+                candidates.retainAll(termIds);
+            }
+        }
+        if (candidates == null) {
+            // Phrase is only punctuation: check every book
+            candidates = new HashSet<>(index.documents.keySet());
+        }
+        if (result != null) {
+            candidates.retainAll(result);
+        }
+        // Confirm the whole phrase appears, matching LIKE '%phrase%'
+        candidates.removeIf(id -> !index.documents.get(id).value(field).contains(normalized));
+        return candidates;
+    }
+
+    private static int matchQuality(String token, String term) {
+        if (token.equals(term)) {
+            return EXACT_MATCH;
+        }
+        return token.startsWith(term) ? PREFIX_MATCH : SUBSTRING_MATCH;
+    }
+
+    private static List<String> grams(String token) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Documents, per-field token indexes and category postings; one instance per build
+    private static final class Index {
+        final Map<Long, Document> documents = new HashMap<>();
+        final Map<SearchField, FieldIndex> fields = new EnumMap<>(SearchField.class);
+        final Map<String, PostingList> byCategory = new HashMap<>();
+
+        Index() {
+            for (SearchField field : SearchField.values()) {
+                fields.put(field, new FieldIndex());
+            }
+        }
+
+        void add(Document document) {
+            documents.put(document.id, document);
+            for (SearchField field : SearchField.values()) {
+                FieldIndex fieldIndex = fields.get(field);
+                for (String token : new HashSet<>(SearchText.words(document.value(field)))) {
+                    fieldIndex.add(token, document.id);
+                }
+            }
+            if (!document.category.isEmpty()) {
+                byCategory.computeIfAbsent(document.category, c -> new PostingList()).add(document.id);
+            }
+        }
+
+        void removeDocument(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (SearchField field : SearchField.values()) {
+                FieldIndex fieldIndex = fields.get(field);
+                for (String token : new HashSet<>(SearchText.words(document.value(field)))) {
+                    fieldIndex.remove(token, id);
+                }
+            }
+            PostingList postings = byCategory.get(document.category);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    byCategory.remove(document.category);
+                }
+            }
+        }
+
+        // Move the category's posting list to the new name and re-label its documents
+        void renameCategory(String from, String to) {
+            PostingList postings = byCategory.remove(from);
+            if (postings == null) {
+                return;
+            }
+            PostingList target = byCategory.computeIfAbsent(to, c -> new PostingList());
+            postings.forEach(id -> {
+                Document old = documents.get(id);
+                documents.put(id, new Document(id, old.title, old.author, old.isbn, old.libraryCode, to));
+                target.add(id);
+            });
+        }
+    }
+
+    // Normalized searchable values of one book
+    private static final class Document {
+        final long id;
+        final String title;
+        final String author;
+        final String isbn;
+        final String libraryCode;
+        final String category;
+
+        Document(Long id, String title, String author, String isbn, String libraryCode, String category) {
+            this.id = id;
+            this.title = SearchText.normalize(title);
+            this.author = SearchText.normalize(author);
+            this.isbn = SearchText.normalize(isbn);
+            this.libraryCode = SearchText.normalize(libraryCode);
+            this.category = SearchText.normalize(category);
+        }
+
+        String value(SearchField field) {
+            switch (field) {
+                case TITLE: return title;
+                case AUTHOR: return author;
+                case LIBRARY_CODE: return libraryCode;
+                case ISBN: return isbn;
+                default: throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+    }
+
+    // Token postings and a trigram index over the vocabulary of one field
+    private static final class FieldIndex {
+        private final TreeMap<String, PostingList> tokens = new TreeMap<>();
+        private final Map<String, Set<String>> tokensByGram = new HashMap<>();
+
+        PostingList postings(String token) {
+            return tokens.get(token);
+        }
+
+        void add(String token, long id) {
+            PostingList postings = tokens.get(token);
+            if (postings == null) {
+                postings = new PostingList();
+                tokens.put(token, postings);
+                for (String gram : grams(token)) {
+                    tokensByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+                }
+            }
+            postings.add(id);
+        }
+
+        void remove(String token, long id) {
+            PostingList postings = tokens.get(token);
+            if (postings == null) {
+                return;
+            }
+            postings.remove(id);
+            if (postings.isEmpty()) {
+                tokens.remove(token);
+                for (String gram : grams(token)) {
+                    Set<String> gramTokens = tokensByGram.get(gram);
+                    if (gramTokens != null) {
+                        gramTokens.remove(token);
+                        if (gramTokens.isEmpty()) {
+                            tokensByGram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Vocabulary tokens that contain the term
+        Collection<String> tokensContaining(String term) {
+            List<String> matches = new ArrayList<>();
+            if (term.length() < GRAM) {
+                for (String token : tokens.keySet()) {
+                    if (token.contains(term)) {
+                        matches.add(token);
+                    }
+                }
+                return matches;
+            }
+
+            // Start from the rarest trigram of the term, then confirm the full term
+            Set<String> smallest = null;
+            for (String gram : grams(term)) {
+                Set<String> gramTokens = tokensByGram.get(gram);
+                if (gramTokens == null) {
+                    return matches;
+                }
+                if (smallest == null || gramTokens.size() < smallest.size()) {
+                    smallest = gramTokens;
+                }
+            }
+            for (String token : smallest) {
+                if (token.contains(term)) {
+                    matches.add(token);
+                }
+            }
+            return matches;
+        }
+    }
+
+    // Sorted, de-duplicated book ids stored in a primitive array
+    private static final class PostingList {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void forEach(LongConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(ids[i]);
+            }
+        }
+    }
+}
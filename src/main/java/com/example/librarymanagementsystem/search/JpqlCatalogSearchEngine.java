@@ -0,0 +1,49 @@
+package com.example.librarymanagementsystem.search;
+
+import com.example.librarymanagementsystem.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+// LIKE-based search through JPQL; always available, used as the fallback engine
+@Component
+public class JpqlCatalogSearchEngine implements CatalogSearchEngine {
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Override
+    public String name() {
+        return "jpql";
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    // Same matching as the index engine: every word must appear in some field (one LIKE query per word)
+    @Override
+    public List<Long> search(String keyword) {
+        List<Long> ids = null;
+        for (String word : SearchText.words(SearchText.normalize(keyword))) {
+            List<Long> wordIds = bookRepository.searchBookIds(word);
+            if (ids == null) {
+                ids = new ArrayList<>(wordIds);
+            } else {
+                ids.retainAll(new HashSet<>(wordIds));
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+        }
+        return ids == null ? List.of() : ids;
+    }
+
+    @Override
+    public List<Long> filter(String title, String author, String category, String libraryCode, String isbn) {
+        return bookRepository.findBookIdsWithFilters(title, author, category, libraryCode, isbn);
+    }
+}
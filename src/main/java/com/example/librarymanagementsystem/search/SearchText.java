@@ -0,0 +1,29 @@
+package com.example.librarymanagementsystem.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Text normalization shared by the search engines, so both split a keyword into the same words
+final class SearchText {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}\\p{M}]+");
+
+    private SearchText() {
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Words of a normalized value: runs of letters, digits and combining marks
+    static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
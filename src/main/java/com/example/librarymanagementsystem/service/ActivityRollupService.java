@@ -0,0 +1,156 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.dto.DailyCount;
+import com.example.librarymanagementsystem.entity.DailyActivityRollup;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.DailyActivityRollupRepository;
+import com.example.librarymanagementsystem.repository.LoanRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Maintains the per-day activity counters in daily_activity_rollup.
+ * The record* methods are called from the save/delete/return paths and join
+ * the caller's transaction, so a rolled back write never reaches the rollup.
+ *
+ * The backfill recomputes counters from the source tables. It only runs at
+ * startup when the rollup is empty. It holds the write side of a lock whose
+ * read side every record* call keeps until its transaction ends, so the
+ * backfill never overwrites an increment it could not see.
+ */
+@Service
+public class ActivityRollupService {
+    private static final Logger log = LoggerFactory.getLogger(ActivityRollupService.class);
+
+    @Autowired
+    private DailyActivityRollupRepository rollupRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock backfillLock = new ReentrantReadWriteLock();
+
+    @Transactional
+    public void recordBooksAdded(LocalDate day, int count) {
+        holdBackfillLock();
+        rollupRepository.addToDay(dayOrToday(day), count, 0, 0, 0, 0, 0);
+    }
+
+    @Transactional
+    public void recordBookDeleted(LocalDate day) {
+        holdBackfillLock();
+        rollupRepository.addToDay(dayOrToday(day), 0, 1, 0, 0, 0, 0);
+    }
+
+    @Transactional
+    public void recordMemberAdded(LocalDate day) {
+        holdBackfillLock();
+        rollupRepository.addToDay(dayOrToday(day), 0, 0, 1, 0, 0, 0);
+    }
+
+    @Transactional
+    public void recordMemberDeleted(LocalDate day) {
+        holdBackfillLock();
+        rollupRepository.addToDay(dayOrToday(day), 0, 0, 0, 1, 0, 0);
+    }
+
+    @Transactional
+    public void recordLoansCreated(LocalDate day, int count) {
+        holdBackfillLock();
+        rollupRepository.addToDay(dayOrToday(day), 0, 0, 0, 0, count, 0);
+    }
+
+    @Transactional
+    public void recordLoansReturned(LocalDate day, int count) {
+        holdBackfillLock();
+        rollupRepository.addToDay(dayOrToday(day), 0, 0, 0, 0, 0, count);
+    }
+
+    // Rollup rows for the given range (inclusive); days without activity have no row
+    @Transactional(readOnly = true)
+    public List<DailyActivityRollup> getRange(LocalDate start, LocalDate end) {
+        return rollupRepository.findByActivityDateBetweenOrderByActivityDateAsc(start, end);
+    }
+
+    // Populate the rollup on first start against an existing database
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            int days = backfill();
+            log.info("Backfilled daily activity rollup for {} day(s)", days);
+        }
+    }
+
+    /**
+     * Recomputes the added/loan/return counters from the source tables with
+     * grouped queries and writes each day with one upsert. Deletion counters
+     * cannot be derived from the source tables, so existing values are kept.
+     * Waits for in-flight record* transactions and blocks new ones until it
+     * has committed.
+     */
+    public int backfill() {
+        backfillLock.writeLock().lock();
+        try {
+            Integer days = transactionTemplate.execute(status -> {
+                // Existing days start at zero, so counters with no source rows left are cleared
+                Map<LocalDate, DailyActivityRollup> rows = new HashMap<>();
+                for (DailyActivityRollup existing : rollupRepository.findAll()) {
+                    rows.put(existing.getActivityDate(), new DailyActivityRollup(existing.getActivityDate()));
+                }
+
+                apply(rows, bookRepository.countBooksGroupedByCreatedDate(), DailyActivityRollup::setBooksAdded);
+                apply(rows, memberRepository.countMembersGroupedByRegisteredDate(), DailyActivityRollup::setMembersAdded);
+                apply(rows, loanRepository.countLoansGroupedByLoanDate(), DailyActivityRollup::setNewLoans);
+                apply(rows, loanRepository.countLoansGroupedByReturnDate(), DailyActivityRollup::setReturnedLoans);
+
+                for (DailyActivityRollup row : rows.values()) {
+                    rollupRepository.setDay(row.getActivityDate(), row.getBooksAdded(), row.getMembersAdded(),
+                            row.getNewLoans(), row.getReturnedLoans());
+                }
+                return rows.size();
+            });
+            return days != null ? days : 0;
+        } finally {
+            backfillLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Map<LocalDate, DailyActivityRollup> rows, List<DailyCount> counts,
+                       BiConsumer<DailyActivityRollup, Integer> setter) {
+        for (DailyCount count : counts) {
+            DailyActivityRollup row = rows.computeIfAbsent(count.getActivityDate(), DailyActivityRollup::new);
+            setter.accept(row, (int) count.getTotal());
+        }
+    }
+
+    // Keeps a running backfill out until the caller's transaction commits or rolls back
+    private void holdBackfillLock() {
+        Lock lock = backfillLock.readLock();
+        lock.lock();
+        TransactionCallbacks.afterCompletion(lock::unlock);
+    }
+
+    private LocalDate dayOrToday(LocalDate day) {
+        return day != null ? day : LocalDate.now();
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.dto.BookKeys;
+import com.example.librarymanagementsystem.dto.ImportReport;
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.entity.Category;
+import com.example.librarymanagementsystem.repository.BookBatchRepository;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.CategoryRepository;
+import com.example.librarymanagementsystem.search.CatalogSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk catalog import from CSV. The input is read record by record, so file
+ * size does not affect memory use. Library codes and ISBNs already in the
+ * catalog are loaded once into hash sets; categories are resolved once per
+ * name, and new ones are created in the transaction of the first chunk that
+ * inserts a book with them. Valid rows are inserted in JDBC batches, one
+ * transaction per chunk.
+ * If a chunk fails (e.g. a concurrent insert took a library code), that chunk
+ * is retried row by row so the report names the offending lines. Each
+ * committed chunk is added to the uniqueness and search indexes.
+ *
+ * Expected header (any order, case-insensitive): title, author, isbn,
+ * publicationYear, totalCopies, availableCopies, libraryCode, bookCategory.
+ * title, libraryCode and bookCategory are required; availableCopies defaults
+ * to totalCopies.
+ */
+@Service
+public class BookImportService {
+    private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("title", "librarycode", "bookcategory");
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookBatchRepository bookBatchRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ActivityRollupService activityRollupService;
+    @Autowired
+    private UniquenessIndexService uniquenessIndexService;
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ImportReport importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty.");
+        }
+        Map<String, Integer> columns = mapColumns(header);
+
+        ImportState state = new ImportState();
+        List<Book> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        long line = csv.getLineNumber();
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (!isBlank(record)) {
+                state.report.rowRead();
+                try {
+                    chunk.add(toBook(record, columns, state));
+                    chunkLines.add(line);
+                } catch (IllegalArgumentException e) {
+                    state.report.rowFailed(line, e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, chunkLines, state);
+                }
+            }
+            line = csv.getLineNumber();
+        }
+        flush(chunk, chunkLines, state);
+
+        log.info("Catalog import: {} row(s) read, {} imported, {} failed",
+                state.report.getTotal(), state.report.getImported(), state.report.getFailed());
+        return state.report;
+    }
+
+    private Book toBook(List<String> record, Map<String, Integer> columns, ImportState state) {
+        String title = value(record, columns, "title");
+        String libraryCode = value(record, columns, "librarycode");
+        String categoryName = value(record, columns, "bookcategory");
+        String isbn = value(record, columns, "isbn");
+        if (title.isEmpty()) {
+            throw new IllegalArgumentException("Title is required.");
+        }
+        if (libraryCode.isEmpty()) {
+            throw new IllegalArgumentException("Library code is required.");
+        }
+        if (categoryName.isEmpty()) {
+            throw new IllegalArgumentException("Book category is required.");
+        }
+
+        int publicationYear = number(record, columns, "publicationyear", 0);
+        int totalCopies = number(record, columns, "totalcopies", 1);
+        int availableCopies = number(record, columns, "availablecopies", totalCopies);
+        if (totalCopies < 0 || availableCopies < 0) {
+            throw new IllegalArgumentException("Copies cannot be negative.");
+        }
+        if (availableCopies > totalCopies) {
+            throw new IllegalArgumentException("Available copies cannot exceed total copies.");
+        }
+
+        String codeKey = libraryCode.toLowerCase(Locale.ROOT);
+        if (state.libraryCodes.contains(codeKey)) {
+            throw new IllegalArgumentException("Library code '" + libraryCode + "' already exists.");
+        }
+        String isbnKey = isbn.toLowerCase(Locale.ROOT);
+        if (!isbnKey.isEmpty() && state.isbns.contains(isbnKey)) {
+            throw new IllegalArgumentException("ISBN '" + isbn + "' already exists.");
+        }
+        Category category = state.category(categoryName);
+
+        state.libraryCodes.add(codeKey);
+        if (!isbnKey.isEmpty()) {
+            state.isbns.add(isbnKey);
+        }
+        Book book = new Book(title, value(record, columns, "author"), isbn.isEmpty() ? null : isbn,
+                publicationYear, totalCopies, availableCopies, libraryCode, null);
+        book.setCategory(category);
+        return book;
+    }
+
+    // Insert the chunk in one batch; on failure retry its rows one by one to find the bad ones
+    private void flush(List<Book> chunk, List<Long> lines, ImportState state) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        try {
+            insert(chunk, today);
+            state.report.rowsImported(chunk.size());
+        } catch (DataAccessException e) {
+            for (int i = 0; i < chunk.size(); i++) {
+                Book book = chunk.get(i);
+                try {
+                    insert(List.of(book), today);
+                    state.report.rowsImported(1);
+                } catch (DataAccessException rowError) {
+                    state.libraryCodes.remove(book.getLibraryCode().toLowerCase(Locale.ROOT));
+                    if (book.getIsbn() != null) {
+                        state.isbns.remove(book.getIsbn().toLowerCase(Locale.ROOT));
+                    }
+                    state.report.rowFailed(lines.get(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private void insert(List<Book> books, LocalDate today) {
+        List<Category> created = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertInTransaction(books, today, created));
+        } catch (RuntimeException e) {
+            // Rolled back with the chunk: created again by the next insert that uses them
+            created.forEach(category -> category.setId(null));
+            throw e;
+        }
+    }
+
+    private void insertInTransaction(List<Book> books, LocalDate today, List<Category> created) {
+        // New categories commit or roll back together with the rows that reference them
+        for (Book book : books) {
+            Category category = book.getCategory();
+            if (category.getId() == null) {
+                category.setId(categoryService.saveNewCategory(category.getName()).getId());
+                created.add(category);
+            }
+        }
+        bookBatchRepository.insertBooks(books);
+        activityRollupService.recordBooksAdded(today, books.size());
+        liveUpdateService.recordChanged();
+
+        // The batch returns no keys: read the new ids back by library code and index just these rows
+        Map<String, Book> byCode = new HashMap<>();
+        for (Book book : books) {
+            byCode.put(book.getLibraryCode().toLowerCase(Locale.ROOT), book);
+        }
+        for (BookKeys keys : bookRepository.findKeysByLibraryCodeIn(books.stream().map(Book::getLibraryCode).toList())) {
+            Book book = byCode.get(keys.getLibraryCode().toLowerCase(Locale.ROOT));
+            if (book != null) {
+                book.setId(keys.getId());
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            for (Book book : books) {
+                uniquenessIndexService.indexBook(book.getId(), book.getTitle(), book.getIsbn(), book.getLibraryCode());
+                catalogSearchService.index(book);
+            }
+        });
+    }
+
+    private static Map<String, Integer> mapColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            columns.put(name.equals("category") ? "bookcategory" : name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return "";
+        }
+        return record.get(index).trim();
+    }
+
+    private static int number(List<String> record, Map<String, Integer> columns, String column, int defaultValue) {
+        String value = value(record, columns, column);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + column + ": '" + value + "'.");
+        }
+    }
+
+    private static boolean isBlank(List<String> record) {
+        return record.stream().allMatch(field -> field.trim().isEmpty());
+    }
+
+    // Lookups loaded once per import
+    private final class ImportState {
+        final ImportReport report = new ImportReport();
+        final Set<String> libraryCodes = new HashSet<>();
+        final Set<String> isbns = new HashSet<>();
+        final Map<String, Category> categories = new HashMap<>();
+
+        ImportState() {
+            for (BookKeys keys : bookRepository.findAllKeys()) {
+                if (keys.getLibraryCode() != null) {
+                    libraryCodes.add(keys.getLibraryCode().trim().toLowerCase(Locale.ROOT));
+                }
+                if (keys.getIsbn() != null && !keys.getIsbn().trim().isEmpty()) {
+                    isbns.add(keys.getIsbn().trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            for (Category category : categoryRepository.findAll()) {
+                categories.put(category.getName().toLowerCase(Locale.ROOT), category);
+            }
+        }
+
+        // Existing category by case-insensitive name; a new name gets an unsaved category that insert() persists
+        Category category(String name) {
+            Category category = categories.computeIfAbsent(name.toLowerCase(Locale.ROOT),
+                    key -> new Category(name.trim()));
+            if (!category.isActive()) {
+                throw new IllegalArgumentException("Cannot assign book to inactive category '" + category.getName() + "'.");
+            }
+            return category;
+        }
+    }
+}
@@ -1,19 +1,39 @@
 package com.example.librarymanagementsystem.service;
 
+import com.example.librarymanagementsystem.dto.BookPage;
+import com.example.librarymanagementsystem.dto.DashboardSnapshot;
 import com.example.librarymanagementsystem.entity.Book;
 import com.example.librarymanagementsystem.entity.Category;
 import com.example.librarymanagementsystem.repository.BookRepository;
 import com.example.librarymanagementsystem.repository.LoanRepository;
+import com.example.librarymanagementsystem.search.CatalogSearchService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BookService {
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private BookRepository bookRepository;
 
@@ -23,12 +43,55 @@ public class BookService {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ActivityRollupService activityRollupService;
+
+    @Autowired
+    private UniquenessIndexService uniquenessIndexService;
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    // Above this many books the book list shows an estimated total instead of running COUNT(*)
+    @Value("${books.list.exact-count-threshold:10000}")
+    private long exactCountThreshold;
 
     // Get all books
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
     }
 
+    // Page of all books; large catalogs take the total from an existing dashboard snapshot instead of a COUNT(*)
+    public BookPage getBooks(Pageable pageable) {
+        // Only a snapshot that is already built: the book list never waits for the dashboard panels
+        DashboardSnapshot snapshot = dashboardSnapshotService.getCachedSnapshot();
+        long estimatedTotal = snapshot != null ? snapshot.getTotalBooks() : 0L;
+        if (snapshot == null || estimatedTotal <= exactCountThreshold) {
+            return new BookPage(bookRepository.findAll(pageable), false);
+        }
+        Slice<Book> slice = bookRepository.findAllBy(pageable);
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimatedTotal, seen + 1) : seen;
+        return new BookPage(new PageImpl<>(slice.getContent(), pageable, total), true);
+    }
+
+    // Keyset page of books ordered by id, starting after the given id
+    public List<Book> getBooksAfter(Long afterId, int limit) {
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit));
+    }
+
+    // Stream every book in id order without loading the whole table into memory
+    @Transactional(readOnly = true)
+    public void forEachBook(Consumer<Book> consumer) {
+        PersistenceStreams.forEachDetached(bookRepository.streamAllByOrderByIdAsc(), entityManager, consumer);
+    }
+
     // Get book by ID
     public Optional<Book> getBookById(Long id) {
         return bookRepository.findById(id);
@@ -53,11 +116,17 @@ public class BookService {
 
         // Hard delete: remove the book from the database
         bookRepository.deleteById(id);
+        activityRollupService.recordBookDeleted(LocalDate.now());
+        liveUpdateService.recordChanged();
+        TransactionCallbacks.afterCommit(() -> {
+            uniquenessIndexService.removeBook(id);
+            catalogSearchService.remove(id);
+        });
     }
 
     // Search methods
     public List<Book> searchBooksByCategory(String category) {
-        return bookRepository.findByBookCategoryIgnoreCase(category);
+        return bookRepository.findByCategoryNameIgnoreCase(category);
     }
 
     public List<Book> searchBooksByTitle(String title) {
@@ -73,7 +142,50 @@ public class BookService {
     }
 
     public List<Book> searchBooksWithFilters(String title, String author, String category, String libraryCode, String isbn) {
-        return bookRepository.findBooksWithFilters(title, author, category, libraryCode, isbn);
+        return getBooksByIds(catalogSearchService.filter(title, author, category, libraryCode, isbn));
+    }
+
+    // Keyword search across title, author, library code and ISBN, best match first
+    public List<Book> searchBooks(String keyword) {
+        return getBooksByIds(catalogSearchService.search(keyword));
+    }
+
+    // Paged variants of the searches above. Search engines return every matching id, so the total is
+    // exact and only the ids on the requested page are loaded; hits stay in search order.
+    public BookPage searchBooksByCategory(String category, Pageable pageable) {
+        return new BookPage(bookRepository.findByCategoryNameIgnoreCase(category, pageable), false);
+    }
+
+    public BookPage searchBooksWithFilters(String title, String author, String category, String libraryCode,
+                                           String isbn, Pageable pageable) {
+        return pageOfIds(catalogSearchService.filter(title, author, category, libraryCode, isbn), pageable);
+    }
+
+    // Keyword search, optionally limited to one category
+    public BookPage searchBooks(String keyword, String category, Pageable pageable) {
+        List<Long> ids = catalogSearchService.search(keyword);
+        if (category != null && !category.trim().isEmpty()) {
+            Set<Long> inCategory = Set.copyOf(catalogSearchService.filter(null, null, category, null, null));
+            ids = ids.stream().filter(inCategory::contains).collect(Collectors.toList());
+        }
+        return pageOfIds(ids, pageable);
+    }
+
+    private BookPage pageOfIds(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        Page<Book> page = new PageImpl<>(getBooksByIds(ids.subList(from, to)), pageable, ids.size());
+        return new BookPage(page, false);
+    }
+
+    // Load books for search hits, keeping the order the search engine returned
+    private List<Book> getBooksByIds(List<Long> ids) {
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     // Get all active category objects
@@ -123,9 +235,18 @@ public class BookService {
         if (!category.isActive()) {
             throw new IllegalArgumentException("Cannot assign book to inactive category '" + category.getName() + "'.");
         }
-        book.setBookCategory(category.getName());
+        book.setCategory(category);
 
-        bookRepository.save(book);
+        boolean isNew = book.getId() == null;
+        Book saved = bookRepository.save(book);
+        if (isNew) {
+            activityRollupService.recordBooksAdded(saved.getCreatedDate(), 1);
+        }
+        liveUpdateService.recordChanged();
+        TransactionCallbacks.afterCommit(() -> {
+            uniquenessIndexService.indexBook(saved.getId(), saved.getTitle(), saved.getIsbn(), saved.getLibraryCode());
+            catalogSearchService.index(saved);
+        });
     }
 
     // Get all active category names
@@ -136,7 +257,7 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
-    // Update category name and cascade to books
+    // Rename a category; books reference it by id, so this is a single-row update
     @Transactional
     public void updateCategoryName(Long categoryId, String newName) {
         Optional<Category> categoryOptional = categoryService.getCategoryById(categoryId);
@@ -151,11 +272,7 @@ public class BookService {
         category.setName(newName.trim());
         categoryService.saveCategory(category);
 
-        // Update all books with the old category name
-        List<Book> books = bookRepository.findByBookCategoryIgnoreCase(oldName);
-        for (Book book : books) {
-            book.setBookCategory(newName.trim());
-            bookRepository.save(book);
-        }
+        String renamed = category.getName();
+        TransactionCallbacks.afterCommit(() -> catalogSearchService.renameCategory(oldName, renamed));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.config.QueryBudget;
+import com.example.librarymanagementsystem.dto.CategoryBookCount;
+import com.example.librarymanagementsystem.dto.CategoryLoanCount;
+import com.example.librarymanagementsystem.dto.CategoryStatsDto;
+import com.example.librarymanagementsystem.entity.Category;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.CategoryRepository;
+import com.example.librarymanagementsystem.repository.LoanRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Computes per-category book, loan and return counts with grouped queries.
+ * The number of SQL statements is constant (one per query below) no matter
+ * how many categories, books or loans exist.
+ */
+@Service
+public class CategoryAggregationService {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    // Stats for all active categories, in category name order
+    @QueryBudget(max = 3)
+    @Transactional(readOnly = true)
+    public List<CategoryStatsDto> getCategoryStats() {
+        List<Category> categories = categoryRepository.findAllByActiveTrueOrderByNameAsc();
+
+        Map<Long, Long> booksByCategory = new HashMap<>();
+        for (CategoryBookCount row : bookRepository.countBooksGroupedByCategory()) {
+            booksByCategory.put(row.getCategoryId(), row.getBooksCount());
+        }
+
+        Map<Long, CategoryLoanCount> loansByCategory = new HashMap<>();
+        for (CategoryLoanCount row : loanRepository.countLoansGroupedByCategory()) {
+            loansByCategory.put(row.getCategoryId(), row);
+        }
+
+        return categories.stream()
+                .map(category -> {
+                    CategoryLoanCount loans = loansByCategory.get(category.getId());
+                    return new CategoryStatsDto(
+                            category.getName(),
+                            booksByCategory.getOrDefault(category.getId(), 0L),
+                            loans != null ? loans.getLoansCount() : 0L,
+                            loans != null ? loans.getReturnsCount() : 0L);
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Top categories sorted by total activity (books + loans + returns) descending
+    @QueryBudget(max = 3)
+    @Transactional(readOnly = true)
+    public List<CategoryStatsDto> getTopCategories(int limit) {
+        return getCategoryStats().stream()
+                .sorted(Comparator.comparingLong(CategoryAggregationService::totalActivity).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static long totalActivity(CategoryStatsDto stats) {
+        return stats.getBooksCount() + stats.getLoansCount() + stats.getReturnsCount();
+    }
+}
@@ -1,10 +1,8 @@
 package com.example.librarymanagementsystem.service;
 
-import com.example.librarymanagementsystem.entity.Book;
 import com.example.librarymanagementsystem.entity.Category;
 import com.example.librarymanagementsystem.repository.BookRepository;
 import com.example.librarymanagementsystem.repository.CategoryRepository;
-import com.example.librarymanagementsystem.repository.LoanRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,9 +51,9 @@ public class CategoryService {
 
         String trimmedName = categoryName.trim();
 
-        if (categoryRepository.existsByName(trimmedName)) {
-            return categoryRepository.findByName(trimmedName)
-                    .orElseThrow(() -> new RuntimeException("Unexpected error finding category"));
+        Optional<Category> existingCategory = categoryRepository.findByName(trimmedName);
+        if (existingCategory.isPresent()) {
+            return existingCategory.get();
         }
 
         Category newCategory = new Category(trimmedName);
@@ -75,7 +73,7 @@ public class CategoryService {
 
     // Check if category exists
     public boolean categoryExists(String name) {
-        return categoryRepository.existsByName(name);
+        return categoryRepository.findByName(name).isPresent();
     }
 
     // Search categories
@@ -112,59 +110,29 @@ public class CategoryService {
         Category category = categoryOptional.get();
 
         // Check if the category is associated with any books
-        List<Book> books = bookRepository.findByBookCategoryIgnoreCase(category.getName());
-        if (!books.isEmpty()) {
-            throw new IllegalStateException("Cannot delete category '" + category.getName() + "'. It is associated with " + books.size() + " book(s).");
+        long bookCount = bookRepository.countByCategoryId(id);
+        if (bookCount > 0) {
+            throw new IllegalStateException("Cannot delete category '" + category.getName() + "'. It is associated with " + bookCount + " book(s).");
         }
 
         // Soft delete: set active to false
         category.setActive(false);
         categoryRepository.save(category);
     }
-    // ADD THIS METHOD TO YOUR EXISTING CategoryService.java
-
     @Autowired
-    private LoanRepository loanRepository;
+    private CategoryAggregationService categoryAggregationService;
 
-    // Add this method to your existing CategoryService class
+    // Top 5 categories by total activity, computed with grouped count queries
     public List<Map<String, Object>> getTopCategoriesWithStats() {
-        List<Category> activeCategories = getAllActiveCategories();
-
-        List<Map<String, Object>> categoryStats = activeCategories.stream()
-                .map(category -> {
+        return categoryAggregationService.getTopCategories(5).stream()
+                .map(dto -> {
                     Map<String, Object> stats = new HashMap<>();
-                    String categoryName = category.getName();
-
-                    // Get books in this category
-                    List<Book> books = bookRepository.findByBookCategoryIgnoreCase(categoryName);
-                    long booksCount = books.size();
-
-                    // Calculate total loans for books in this category
-                    long totalLoans = books.stream()
-                            .mapToLong(book -> loanRepository.countByBookId(book.getId()))
-                            .sum();
-
-                    // Calculate returned loans for books in this category
-                    long returnedLoans = books.stream()
-                            .mapToLong(book -> loanRepository.countByBookIdAndReturnDateIsNotNull(book.getId()))
-                            .sum();
-
-                    stats.put("name", categoryName);
-                    stats.put("booksCount", booksCount);
-                    stats.put("loansCount", totalLoans);
-                    stats.put("returnsCount", returnedLoans);
-
+                    stats.put("name", dto.getName());
+                    stats.put("booksCount", dto.getBooksCount());
+                    stats.put("loansCount", dto.getLoansCount());
+                    stats.put("returnsCount", dto.getReturnsCount());
                     return stats;
                 })
-                .sorted((a, b) -> {
-                    // Sort by total activity (books + loans + returns) descending
-                    long totalA = (Long)a.get("booksCount") + (Long)a.get("loansCount") + (Long)a.get("returnsCount");
-                    long totalB = (Long)b.get("booksCount") + (Long)b.get("loansCount") + (Long)b.get("returnsCount");
-                    return Long.compare(totalB, totalA);
-                })
-                .limit(5)
                 .collect(Collectors.toList());
-
-        return categoryStats;
     }
 }
\ No newline at end of file
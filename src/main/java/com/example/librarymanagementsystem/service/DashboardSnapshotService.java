@@ -0,0 +1,249 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.config.DashboardConfig;
+import com.example.librarymanagementsystem.config.QueryBudget;
+import com.example.librarymanagementsystem.config.SqlStatementCounter;
+import com.example.librarymanagementsystem.dto.BookLoanCount;
+import com.example.librarymanagementsystem.dto.DashboardSnapshot;
+import com.example.librarymanagementsystem.dto.MemberLoanCount;
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.entity.Member;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.LoanRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the dashboard read model with a fixed number of queries (counts and
+ * top-N queries) and keeps it cached. A scheduled task refreshes it off the
+ * request thread; requests only build synchronously when there is no snapshot
+ * yet. A snapshot older than the max age is still served while one background
+ * refresh replaces it.
+ *
+ * Each panel (counts, top borrowers, popular and recent books, overdue count)
+ * is loaded concurrently on a bounded executor with its own timeout, so a
+ * build takes about as long as the slowest panel. Each panel runs in a
+ * read-only transaction whose timeout cancels its queries once the panel has
+ * given up. A panel that fails or times out keeps its value from the previous
+ * snapshot (or an empty value) and is listed in the snapshot's degraded
+ * panels. The snapshot is stamped with its build time either way, and its
+ * stalestPanelAt records how old the oldest fallback data is.
+ */
+@Service
+public class DashboardSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardSnapshotService.class);
+    private static final int TOP_N = 5;
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+    @Autowired
+    @Qualifier(DashboardConfig.PANEL_EXECUTOR)
+    private TaskExecutor panelExecutor;
+
+    @Value("${dashboard.snapshot.max-age-ms:60000}")
+    private long maxAgeMs;
+    @Value("${dashboard.panels.timeout-ms:2000}")
+    private long panelTimeoutMs;
+
+    // Read-only transaction per panel; its timeout becomes the query timeout of the panel's statements
+    private TransactionTemplate panelTransaction;
+
+    private volatile DashboardSnapshot snapshot;
+    // Set while a background refresh of an expired snapshot is running
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Autowired
+    void setPanelTransaction(PlatformTransactionManager transactionManager,
+                             @Value("${dashboard.panels.timeout-ms:2000}") long timeoutMs) {
+        panelTransaction = new TransactionTemplate(transactionManager);
+        panelTransaction.setReadOnly(true);
+        // JDBC query timeouts are whole seconds: round up so a query is never cancelled before the panel gives up
+        panelTransaction.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+    }
+
+    // Current snapshot (built on the calling thread only on a cold cache)
+    public DashboardSnapshot getSnapshot() {
+        DashboardSnapshot current = snapshot;
+        if (current == null) {
+            return buildIfMissing();
+        }
+        if (isExpired(current)) {
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    // Existing snapshot, or null before the first build; never runs the panel queries
+    public DashboardSnapshot getCachedSnapshot() {
+        return snapshot;
+    }
+
+    // Concurrent cold requests wait for one build instead of each running the queries
+    private synchronized DashboardSnapshot buildIfMissing() {
+        DashboardSnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    // The scheduled refresh has fallen behind: one request starts a rebuild, everyone keeps the current snapshot
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("dashboard-refresh").start(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Background dashboard refresh failed", e);
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${dashboard.snapshot.refresh-interval-ms:15000}",
+            fixedDelayString = "${dashboard.snapshot.refresh-interval-ms:15000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public synchronized DashboardSnapshot refresh() {
+        DashboardSnapshot built = buildSnapshot();
+        snapshot = built;
+        return built;
+    }
+
+    @QueryBudget(max = 10)
+    public DashboardSnapshot buildSnapshot() {
+        DashboardSnapshot previous = snapshot;
+        Set<String> degraded = ConcurrentHashMap.newKeySet();
+
+        CompletableFuture<Long> totalBooks = panel("totalBooks", bookRepository::count,
+                previous, DashboardSnapshot::getTotalBooks, 0L, degraded);
+        CompletableFuture<Long> totalMembers = panel("totalMembers", memberRepository::count,
+                previous, DashboardSnapshot::getTotalMembers, 0L, degraded);
+        CompletableFuture<Long> activeLoans = panel("activeLoans", loanRepository::countByReturnDateIsNull,
+                previous, DashboardSnapshot::getActiveLoans, 0L, degraded);
+        CompletableFuture<Long> returnedLoans = panel("returnedLoans", loanRepository::countByReturnDateIsNotNull,
+                previous, DashboardSnapshot::getReturnedLoans, 0L, degraded);
+        CompletableFuture<List<Map<String, Object>>> topBorrowers = panel("topBorrowers", this::loadTopBorrowers,
+                previous, DashboardSnapshot::getTopBorrowers, List.of(), degraded);
+        CompletableFuture<List<Map<String, Object>>> popularBooks = panel("popularBooks", this::loadPopularBooks,
+                previous, DashboardSnapshot::getPopularBooks, List.of(), degraded);
+        CompletableFuture<List<Book>> recentBooks = panel("recentBooks", bookRepository::findTop5ByOrderByIdDesc,
+                previous, DashboardSnapshot::getRecentBooks, List.of(), degraded);
+        CompletableFuture<Integer> overdueLoans = panel("overdueLoans", () -> (int) overdueLoanService.getOverdueCount(),
+                previous, DashboardSnapshot::getOverdueLoansCount, 0, degraded);
+
+        // Every panel completes within its timeout, with a value or its fallback
+        CompletableFuture.allOf(totalBooks, totalMembers, activeLoans, returnedLoans,
+                topBorrowers, popularBooks, recentBooks, overdueLoans).join();
+
+        Instant now = Instant.now();
+        return new DashboardSnapshot(
+                totalBooks.join(),
+                totalMembers.join(),
+                activeLoans.join(),
+                returnedLoans.join(),
+                topBorrowers.join(),
+                popularBooks.join(),
+                recentBooks.join(),
+                overdueLoans.join(),
+                now,
+                degraded,
+                // Fallback panels carry the previous snapshot's data, which is at most as old as its stalest panel
+                degraded.isEmpty() || previous == null ? now : previous.getStalestPanelAt());
+    }
+
+    // Load one panel on the panel executor; on failure, rejection or timeout use the previous value
+    private <T> CompletableFuture<T> panel(String name, Supplier<T> loader, DashboardSnapshot previous,
+                                           Function<DashboardSnapshot, T> previousValue, T empty, Set<String> degraded) {
+        T fallback = previous != null ? previousValue.apply(previous) : empty;
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(SqlStatementCounter.propagate(
+                    () -> panelTransaction.execute(status -> loader.get())), panelExecutor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future
+                .orTimeout(panelTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Dashboard panel '{}' unavailable, serving fallback: {}", name, e.toString());
+                    degraded.add(name);
+                    return fallback;
+                });
+    }
+
+    private boolean isExpired(DashboardSnapshot current) {
+        return Duration.between(current.getGeneratedAt(), Instant.now()).toMillis() > maxAgeMs;
+    }
+
+    // សមាជិកដែលខ្ចីច្រើនជាងគេ (Top 5)
+    private List<Map<String, Object>> loadTopBorrowers() {
+        List<MemberLoanCount> counts = loanRepository.findTopBorrowers(PageRequest.of(0, TOP_N));
+        Map<Long, Member> members = memberRepository.findAllById(
+                        counts.stream().map(MemberLoanCount::getMemberId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        List<Map<String, Object>> topBorrowers = new ArrayList<>();
+        for (MemberLoanCount count : counts) {
+            Member member = members.get(count.getMemberId());
+            if (member == null) {
+                continue;
+            }
+            topBorrowers.add(Map.of("member", member, "loanCount", (int) count.getLoanCount()));
+        }
+        return topBorrowers;
+    }
+
+    // សៀវភៅពេញនិយម (Top 5)
+    private List<Map<String, Object>> loadPopularBooks() {
+        List<BookLoanCount> counts = loanRepository.findMostBorrowedBooks(PageRequest.of(0, TOP_N));
+        Map<Long, Book> books = bookRepository.findAllById(
+                        counts.stream().map(BookLoanCount::getBookId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        List<Map<String, Object>> popularBooks = new ArrayList<>();
+        for (BookLoanCount count : counts) {
+            Book book = books.get(count.getBookId());
+            if (book == null) {
+                continue;
+            }
+            popularBooks.add(Map.of("book", book, "borrowCount", (int) count.getBorrowCount()));
+        }
+        return popularBooks;
+    }
+}
@@ -1,11 +1,7 @@
 package com.example.librarymanagementsystem.service;
 
-import com.example.librarymanagementsystem.repository.BookRepository;
-import com.example.librarymanagementsystem.repository.LoanRepository;
-import com.example.librarymanagementsystem.repository.MemberRepository;
-import com.example.librarymanagementsystem.entity.Book;
-import com.example.librarymanagementsystem.entity.Member;
-import com.example.librarymanagementsystem.entity.Loan;
+import com.example.librarymanagementsystem.config.QueryBudget;
+import com.example.librarymanagementsystem.entity.DailyActivityRollup;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,85 +11,44 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@QueryBudget(max = 1)
 @Service
 public class HistoryService {
+    // Longest range the history endpoints will return
+    public static final int MAX_RANGE_DAYS = 366;
+
     @Autowired
-    private BookRepository bookRepository;
-    @Autowired
-    private MemberRepository memberRepository;
-    @Autowired
-    private LoanRepository loanRepository;
+    private ActivityRollupService activityRollupService;
 
     public List<DailyActivity> getWeeklyActivity() {
+        return getActivity(7);
+    }
+
+    // Activity for the last `days` days including today, read from the daily rollup
+    public List<DailyActivity> getActivity(int days) {
+        int range = Math.max(1, Math.min(days, MAX_RANGE_DAYS));
         LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(6); // Changed to 6 to get exactly 7 days including today
-        List<DailyActivity> activities = new ArrayList<>();
+        LocalDate startDate = endDate.minusDays(range - 1);
 
-        // Initialize all days with zero values
+        Map<LocalDate, DailyActivityRollup> rollups = activityRollupService.getRange(startDate, endDate)
+                .stream()
+                .collect(Collectors.toMap(DailyActivityRollup::getActivityDate, r -> r));
+
+        List<DailyActivity> activities = new ArrayList<>();
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
             DailyActivity activity = new DailyActivity();
             activity.setDate(date.toString());
-            activity.setTotalBooks(0);
-            activity.setTotalMembers(0);
-            activity.setActiveLoans(0);
-            activity.setReturnedLoans(0);
-            activity.setBooksAdded(0);
-            activity.setBooksDeleted(0);
-            activity.setMembersAdded(0);
-            activity.setMembersDeleted(0);
-            activity.setNewLoans(0);
-            activity.setReturnedLoansDaily(0);
-            activities.add(activity);
-        }
-
-        // Create a map for easy access by date
-        Map<String, DailyActivity> activityMap = activities.stream()
-                .collect(Collectors.toMap(DailyActivity::getDate, a -> a));
-
-        // Count books by actual creation dates
-        List<Book> books = bookRepository.findAll();
-        books.forEach(book -> {
-            if (book.getCreatedDate() != null) {
-                String createdDateStr = book.getCreatedDate().toString();
-                if (activityMap.containsKey(createdDateStr)) {
-                    activityMap.get(createdDateStr).incrementBooksAdded();
-                }
-            }
-        });
-
-        // Count members by actual registration dates
-        List<Member> members = memberRepository.findAll();
-        members.forEach(member -> {
-            if (member.getRegisteredDate() != null) {
-                String registeredDateStr = member.getRegisteredDate().toString();
-                if (activityMap.containsKey(registeredDateStr)) {
-                    activityMap.get(registeredDateStr).incrementMembersAdded();
-                }
-            }
-        });
-
-        // Count loans and returns using existing date fields
-        List<Loan> loans = loanRepository.findAll();
-        loans.forEach(loan -> {
-            // Count new loans by loan date
-            if (loan.getLoanDate() != null) {
-                String loanDateStr = loan.getLoanDate().toString();
-                if (activityMap.containsKey(loanDateStr)) {
-                    activityMap.get(loanDateStr).incrementNewLoans();
-                }
-            }
 
-            // Count returned loans by return date
-            if (loan.getReturnDate() != null) {
-                String returnDateStr = loan.getReturnDate().toString();
-                if (activityMap.containsKey(returnDateStr)) {
-                    activityMap.get(returnDateStr).incrementReturnedLoansDaily();
-                }
+            DailyActivityRollup rollup = rollups.get(date);
+            if (rollup != null) {
+                activity.setBooksAdded(rollup.getBooksAdded());
+                activity.setBooksDeleted(rollup.getBooksDeleted());
+                activity.setMembersAdded(rollup.getMembersAdded());
+                activity.setMembersDeleted(rollup.getMembersDeleted());
+                activity.setNewLoans(rollup.getNewLoans());
+                activity.setReturnedLoansDaily(rollup.getReturnedLoans());
             }
-        });
 
-        // Calculate net active loans and set final values
-        for (DailyActivity activity : activities) {
             // Show daily book additions (net change for that day)
             activity.setTotalBooks(activity.getBooksAdded());
 
@@ -106,6 +61,8 @@ public class HistoryService {
 
             // Show daily returned loans
             activity.setReturnedLoans(activity.getReturnedLoansDaily());
+
+            activities.add(activity);
         }
 
         return activities;
@@ -0,0 +1,42 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.config.QueryBudget;
+import com.example.librarymanagementsystem.dto.BookTotals;
+import com.example.librarymanagementsystem.dto.LibrarySummaryDto;
+import com.example.librarymanagementsystem.dto.LoanTotals;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.LoanRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+// Library-wide counters for the dashboards, computed with three aggregate queries
+@Service
+public class LibrarySummaryService {
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @QueryBudget(max = 3)
+    @Transactional(readOnly = true)
+    public LibrarySummaryDto getSummary() {
+        BookTotals books = bookRepository.summarizeCopies();
+        LoanTotals loans = loanRepository.summarizeLoans(LocalDate.now());
+
+        return new LibrarySummaryDto(
+                books.getTotalBooks(),
+                memberRepository.count(),
+                loans.getTotalLoans(),
+                loans.getActiveLoans(),
+                loans.getReturnedLoans(),
+                loans.getOverdueLoans(),
+                books.getCopiesOnShelf(),
+                books.getTotalCopies() - books.getCopiesOnShelf());
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.config.ReadRouting;
+import com.example.librarymanagementsystem.dto.LibrarySummaryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events channel for the dashboards. Writes mark the counters
+ * dirty after commit; a scheduled tick coalesces every change since the last
+ * tick into one summary computation (three aggregate queries) and sends the
+ * counters that moved to all subscribers. New subscribers get the last
+ * published state from memory, so open dashboards cost no queries of their own.
+ *
+ * The tick only computes what to send. Each subscriber has its own queue,
+ * drained in order by a virtual thread, so a slow client never holds up the
+ * scheduler or the other subscribers. A subscriber whose send has not
+ * finished within the send timeout, or whose queue backs up, is dropped.
+ *
+ * Events: "summary" (changed counters; all of them on subscribe) and
+ * "notification" (overdue loans, sent when the in-memory count changes).
+ */
+@Service
+public class LiveUpdateService {
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateService.class);
+    // A subscriber this many events behind is not keeping up
+    private static final int MAX_PENDING_EVENTS = 50;
+
+    @Autowired
+    private LibrarySummaryService librarySummaryService;
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    @Value("${live.updates.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    @Value("${live.updates.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    // Last published state, sent to new subscribers without touching the database
+    private volatile Map<String, Object> counters = Map.of();
+    private volatile Map<String, Object> notification;
+    private long notifiedOverdueCount = -1;
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Queued like any other event, so the initial state cannot overtake a concurrent broadcast
+        Map<String, Object> current = counters;
+        Map<String, Object> currentNotification = notification;
+        if (!current.isEmpty()) {
+            subscriber.enqueue(() -> SseEmitter.event().name("summary").data(current));
+        }
+        if (currentNotification != null) {
+            subscriber.enqueue(() -> SseEmitter.event().name("notification").data(currentNotification));
+        }
+        return emitter;
+    }
+
+    // Counters changed; publish on the next tick once the change is committed
+    public void recordChanged() {
+        TransactionCallbacks.afterCommit(() -> dirty.set(true));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Overdue loan notification, also served by GET /api/notifications
+    public static Map<String, Object> notification(long overdueCount) {
+        Map<String, Object> notification = new HashMap<>();
+        if (overdueCount > 0) {
+            notification.put("type", "warning");
+            notification.put("message", "មានការខ្ចីសៀវភៅចំនួន " + overdueCount + " ដែលហួសកំណត់ពេល!");
+            notification.put("count", overdueCount);
+        } else {
+            notification.put("type", "success");
+            notification.put("message", "មិនមានការខ្ចីហួសកំណត់ពេលទេ");
+            notification.put("count", 0);
+        }
+        return notification;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${live.updates.tick-ms:2000}", initialDelayString = "${live.updates.tick-ms:2000}")
+    public synchronized void tick() {
+        // Overdue count is in memory; it also moves at midnight without a write
+        long overdueCount = overdueLoanService.getOverdueCount();
+        if (overdueCount != notifiedOverdueCount) {
+            Map<String, Object> next = notification(overdueCount);
+            notification = next;
+            notifiedOverdueCount = overdueCount;
+            dirty.set(true);
+            broadcast("notification", next);
+        }
+
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Map<String, Object> next;
+        try {
+            // From the primary: a lagging replica could publish counters without the change that marked them dirty
+            next = toCounters(ReadRouting.callOnPrimary(librarySummaryService::getSummary));
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.warn("Could not compute live summary: {}", e.getMessage());
+            return;
+        }
+        Map<String, Object> delta = new LinkedHashMap<>();
+        Map<String, Object> previous = counters;
+        next.forEach((name, value) -> {
+            if (!value.equals(previous.get(name))) {
+                delta.put(name, value);
+            }
+        });
+        counters = next;
+        if (!delta.isEmpty()) {
+            broadcast("summary", delta);
+        }
+    }
+
+    // Keeps idle connections open through proxies and drops clients that went away
+    @Scheduled(fixedRateString = "${live.updates.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(() -> SseEmitter.event().comment("ping"));
+        }
+    }
+
+    // Drops subscribers stuck in a send (e.g. a client that stopped reading)
+    @Scheduled(fixedDelayString = "${live.updates.send-timeout-ms:5000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                drop(subscriber, "send not finished within " + sendTimeoutMs + " ms");
+            }
+        }
+    }
+
+    // Queues the event for every subscriber; the sends happen on the subscribers' own threads
+    private void broadcast(String event, Object data) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(() -> SseEmitter.event().name(event).data(data));
+        }
+        log.debug("Queued live {} for {} subscriber(s)", event, subscribers.size());
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Dropped live subscriber: {}", reason);
+            // complete() waits for a send in progress, so it must not run on the calling thread
+            Thread.ofVirtual().start(subscriber.emitter::complete);
+        }
+    }
+
+    // One client's pending events, sent in order by at most one virtual thread at a time
+    private final class Subscriber {
+        final SseEmitter emitter;
+        // Events are built per send: an SseEventBuilder cannot be sent twice
+        final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the current send started, 0 when idle
+        volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                drop(this, MAX_PENDING_EVENTS + " events pending");
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("live-update-send").start(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        subscribers.remove(this);
+                        return;
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared is sent by this thread
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    private static Map<String, Object> toCounters(LibrarySummaryDto summary) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("totalBooks", summary.getTotalBooks());
+        counters.put("totalMembers", summary.getTotalMembers());
+        counters.put("totalLoans", summary.getTotalLoans());
+        counters.put("activeLoans", summary.getActiveLoans());
+        counters.put("returnedLoans", summary.getReturnedLoans());
+        counters.put("overdueLoans", summary.getOverdueLoans());
+        counters.put("copiesOnShelf", summary.getCopiesOnShelf());
+        counters.put("copiesOut", summary.getCopiesOut());
+        return counters;
+    }
+}
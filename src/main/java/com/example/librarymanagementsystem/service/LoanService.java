@@ -1,73 +1,275 @@
 package com.example.librarymanagementsystem.service;
 
-import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.dto.BatchItemResult;
+import com.example.librarymanagementsystem.dto.LoanBookRef;
+import com.example.librarymanagementsystem.dto.LoanCheckoutRequest;
+import com.example.librarymanagementsystem.dto.LoanView;
 import com.example.librarymanagementsystem.entity.Loan;
 import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.LoanBatchRepository;
 import com.example.librarymanagementsystem.repository.LoanRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class LoanService {
+    // Upper bound on items per batch checkout/return request
+    public static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private LoanRepository loanRepository;
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private LoanBatchRepository loanBatchRepository;
+    @Autowired
+    private ActivityRollupService activityRollupService;
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    // All loans with their book title and member name, in one joined query
+    public List<LoanView> getAllLoans() {
+        return loanRepository.findAllViews();
+    }
 
+    public Optional<LoanView> getLoanView(Long id) {
+        return loanRepository.findViewById(id);
+    }
 
-    public List<Loan> getAllLoans() {
-        return loanRepository.findAll();
+    // Keyset page of loans ordered by id, starting after the given id
+    public List<LoanView> getLoansAfter(Long afterId, int limit) {
+        return loanRepository.findViewsByIdGreaterThan(afterId != null ? afterId : 0L, Limit.of(limit));
+    }
+
+    // Stream every loan in id order without loading the whole table into memory (views are not managed)
+    @Transactional(readOnly = true)
+    public void forEachLoan(Consumer<LoanView> consumer) {
+        try (Stream<LoanView> loans = loanRepository.streamAllViews()) {
+            loans.forEach(consumer);
+        }
     }
 
     public Optional<Loan> getLoanById(Long id) {
         return loanRepository.findById(id);
     }
 
+    @Transactional
     public Loan saveLoan(Loan loan) {
-        // Validate available copies
-        Book book = loan.getBook();
-        if (book.getAvailableCopies() <= 0) {
-            throw new IllegalStateException("No available copies of the book to loan.");
+        boolean isNew = loan.getId() == null;
+        if (isNew) {
+            // Take a copy with a conditional UPDATE so concurrent checkouts cannot both get the last one
+            // The Book itself is not touched: if it is managed here, a dirty copy count would be flushed over the decrement
+            if (bookRepository.decrementAvailableCopies(loan.getBook().getId()) == 0) {
+                throw new IllegalStateException("No available copies of the book to loan.");
+            }
         }
 
-        // Decrease available copies
-        book.setAvailableCopies(book.getAvailableCopies() - 1);
-        bookRepository.save(book);
-
         // Save the loan
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        if (isNew) {
+            activityRollupService.recordLoansCreated(saved.getLoanDate(), 1);
+            overdueLoanService.recordCreated(Collections.singletonList(saved.getDueDate()));
+        } else {
+            overdueLoanService.recordChanged();
+        }
+        liveUpdateService.recordChanged();
+        return saved;
     }
 
+    @Transactional
     public void returnLoan(Long loanId) {
-        Optional<Loan> loanOptional = loanRepository.findById(loanId);
-        if (loanOptional.isPresent()) {
-            Loan loan = loanOptional.get();
-            if (loan.getReturnDate() == null) {
-                // Set return date
-                loan.setReturnDate(java.time.LocalDate.now());
-
-                // Increase available copies
-                Book book = loan.getBook();
-                book.setAvailableCopies(book.getAvailableCopies() + 1);
-                bookRepository.save(book);
-
-                // Save the loan
-                loanRepository.save(loan);
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new IllegalStateException("Loan not found."));
+
+        // Set return date only if still open, so a loan racing with itself is returned once
+        LocalDate returnDate = LocalDate.now();
+        if (loan.getReturnDate() != null || loanRepository.markReturned(loanId, returnDate) == 0) {
+            throw new IllegalStateException("Loan has already been returned.");
+        }
+
+        // Increase available copies
+        bookRepository.incrementAvailableCopies(loan.getBook().getId());
+        activityRollupService.recordLoansReturned(returnDate, 1);
+        overdueLoanService.recordReturned(Collections.singletonList(loan.getDueDate()));
+        liveUpdateService.recordChanged();
+    }
+
+    /**
+     * Checks out a batch of (book, member) pairs in one transaction. Existence
+     * checks are two IN queries, copies are taken with one batch of conditional
+     * UPDATEs and the loans are inserted with one batch, so the round trips do
+     * not grow with the number of items. Each item gets its own result; a
+     * failed item does not roll back the others.
+     */
+    @Transactional
+    public List<BatchItemResult> checkoutBatch(List<LoanCheckoutRequest> requests) {
+        requireBatchSize(requests);
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+
+        Set<Long> bookIds = new HashSet<>();
+        Set<Long> memberIds = new HashSet<>();
+        for (LoanCheckoutRequest request : requests) {
+            if (request == null) {
+                continue;
+            }
+            if (request.getBookId() != null) {
+                bookIds.add(request.getBookId());
+            }
+            if (request.getMemberId() != null) {
+                memberIds.add(request.getMemberId());
+            }
+        }
+        Set<Long> existingBooks = new HashSet<>(bookIds.isEmpty() ? List.of() : bookRepository.findExistingIds(bookIds));
+        Set<Long> existingMembers = new HashSet<>(memberIds.isEmpty() ? List.of() : memberRepository.findExistingIds(memberIds));
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            LoanCheckoutRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BatchItemResult.failed(i, null, "Missing checkout request.");
+            } else if (!existingBooks.contains(request.getBookId())) {
+                results[i] = BatchItemResult.failed(i, null, "Book not found.");
+            } else if (!existingMembers.contains(request.getMemberId())) {
+                results[i] = BatchItemResult.failed(i, null, "Member not found.");
             } else {
-                throw new IllegalStateException("Loan has already been returned.");
+                candidates.add(i);
             }
-        } else {
-            throw new IllegalStateException("Loan not found.");
         }
+
+        // One conditional decrement per item; 0 rows means the book ran out of copies
+        int[] taken = loanBatchRepository.takeCopies(
+                candidates.stream().map(i -> requests.get(i).getBookId()).collect(Collectors.toList()));
+        LocalDate today = LocalDate.now();
+        List<Integer> granted = new ArrayList<>();
+        List<Long> grantedBooks = new ArrayList<>();
+        List<Long> grantedMembers = new ArrayList<>();
+        List<LocalDate> dueDates = new ArrayList<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            if (taken[c] == 0) {
+                results[i] = BatchItemResult.failed(i, null, "No available copies of the book to loan.");
+                continue;
+            }
+            LoanCheckoutRequest request = requests.get(i);
+            granted.add(i);
+            grantedBooks.add(request.getBookId());
+            grantedMembers.add(request.getMemberId());
+            dueDates.add(request.getDueDate() != null ? request.getDueDate() : today.plusWeeks(2));
+        }
+
+        if (!granted.isEmpty()) {
+            List<Long> loanIds = loanBatchRepository.insertLoans(grantedBooks, grantedMembers, today, dueDates);
+            for (int g = 0; g < granted.size(); g++) {
+                int i = granted.get(g);
+                results[i] = BatchItemResult.ok(i, g < loanIds.size() ? loanIds.get(g) : null);
+            }
+            activityRollupService.recordLoansCreated(today, granted.size());
+            overdueLoanService.recordCreated(dueDates);
+            liveUpdateService.recordChanged();
+        }
+        return Arrays.asList(results);
     }
 
+    /**
+     * Returns a batch of loans in one transaction: one IN query to look the
+     * loans up, one batch of conditional return-date UPDATEs and one batch that
+     * restores copies per book. Already returned, unknown and repeated ids are
+     * reported per item.
+     */
+    @Transactional
+    public List<BatchItemResult> returnBatch(List<Long> loanIds) {
+        requireBatchSize(loanIds);
+        BatchItemResult[] results = new BatchItemResult[loanIds.size()];
+
+        Set<Long> distinctIds = loanIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, LoanBookRef> loans = new HashMap<>();
+        if (!distinctIds.isEmpty()) {
+            for (LoanBookRef ref : loanRepository.findBookRefsByIdIn(distinctIds)) {
+                loans.put(ref.getId(), ref);
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < loanIds.size(); i++) {
+            Long loanId = loanIds.get(i);
+            LoanBookRef loan = loans.get(loanId);
+            if (loan == null) {
+                results[i] = BatchItemResult.failed(i, loanId, "Loan not found.");
+            } else if (!seen.add(loanId)) {
+                results[i] = BatchItemResult.failed(i, loanId, "Duplicate loan id in batch.");
+            } else if (loan.getReturnDate() != null) {
+                results[i] = BatchItemResult.failed(i, loanId, "Loan has already been returned.");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // Conditional UPDATE per loan; 0 rows means another request returned it first
+        LocalDate today = LocalDate.now();
+        int[] marked = loanBatchRepository.markReturned(
+                candidates.stream().map(loanIds::get).collect(Collectors.toList()), today);
+        Map<Long, Integer> copiesByBook = new LinkedHashMap<>();
+        List<LocalDate> returnedDueDates = new ArrayList<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            Long loanId = loanIds.get(i);
+            if (marked[c] == 0) {
+                results[i] = BatchItemResult.failed(i, loanId, "Loan has already been returned.");
+                continue;
+            }
+            copiesByBook.merge(loans.get(loanId).getBookId(), 1, Integer::sum);
+            returnedDueDates.add(loans.get(loanId).getDueDate());
+            results[i] = BatchItemResult.ok(i, loanId);
+        }
+
+        if (!copiesByBook.isEmpty()) {
+            loanBatchRepository.restoreCopies(copiesByBook);
+            activityRollupService.recordLoansReturned(today,
+                    copiesByBook.values().stream().mapToInt(Integer::intValue).sum());
+            overdueLoanService.recordReturned(returnedDueDates);
+            liveUpdateService.recordChanged();
+        }
+        return Arrays.asList(results);
+    }
+
+    private void requireBatchSize(List<?> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("The batch must be a JSON array.");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch can contain at most " + MAX_BATCH_SIZE + " items.");
+        }
+    }
+
+    @Transactional
     public void deleteLoan(Long id) {
         loanRepository.deleteById(id);
+        overdueLoanService.recordChanged();
+        liveUpdateService.recordChanged();
     }
 
     public long getActiveLoansCount() {
@@ -121,28 +323,14 @@ public class LoanService {
      * រកចំនួនការខ្ចីដែលហួសកំណត់ពេល
      */
     public int getOverdueLoansCount() {
-        LocalDate today = LocalDate.now();
-        List<Loan> allLoans = getAllLoans();
-
-        return (int) allLoans.stream()
-                .filter(loan -> loan.getReturnDate() == null &&
-                        loan.getDueDate() != null &&
-                        loan.getDueDate().isBefore(today))
-                .count();
+        return (int) overdueLoanService.getOverdueCount();
     }
 
     /**
      * រកការខ្ចីដែលហួសកំណត់ពេល
      */
-    public List<Loan> getOverdueLoans() {
-        LocalDate today = LocalDate.now();
-        List<Loan> allLoans = getAllLoans();
-
-        return allLoans.stream()
-                .filter(loan -> loan.getReturnDate() == null &&
-                        loan.getDueDate() != null &&
-                        loan.getDueDate().isBefore(today))
-                .collect(java.util.stream.Collectors.toList());
+    public List<LoanView> getOverdueLoans() {
+        return loanRepository.findOverdueViews(LocalDate.now());
     }
 
     public List<Loan> getActiveLoans() {
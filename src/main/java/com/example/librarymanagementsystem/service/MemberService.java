@@ -1,34 +1,71 @@
 package com.example.librarymanagementsystem.service;
 
+import com.example.librarymanagementsystem.dto.MemberLoanSummary;
 import com.example.librarymanagementsystem.entity.Member;
 import com.example.librarymanagementsystem.repository.MemberRepository;
 import com.example.librarymanagementsystem.repository.LoanRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class MemberService {
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private MemberRepository memberRepository;
 
     @Autowired
     private LoanRepository loanRepository;
 
+    @Autowired
+    private ActivityRollupService activityRollupService;
+
+    @Autowired
+    private UniquenessIndexService uniquenessIndexService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
 
     public List<Member> getAllMembers() {
         return memberRepository.findAll();
     }
 
+    // Keyset page of members ordered by id, starting after the given id
+    public List<Member> getMembersAfter(Long afterId, int limit) {
+        return memberRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit));
+    }
+
+    // Stream every member in id order without loading the whole table into memory
+    @Transactional(readOnly = true)
+    public void forEachMember(Consumer<Member> consumer) {
+        PersistenceStreams.forEachDetached(memberRepository.streamAllByOrderByIdAsc(), entityManager, consumer);
+    }
+
     public Optional<Member> getMemberById(Long id) {
         return memberRepository.findById(id);
     }
 
+    @Transactional
     public Member saveMember(Member member) {
-        return memberRepository.save(member);
+        boolean isNew = member.getId() == null;
+        Member saved = memberRepository.save(member);
+        if (isNew) {
+            activityRollupService.recordMemberAdded(saved.getRegisteredDate());
+            liveUpdateService.recordChanged();
+        }
+        TransactionCallbacks.afterCommit(() -> uniquenessIndexService.indexMember(
+                saved.getId(), saved.getName(), saved.getEmail(), saved.getPhone()));
+        return saved;
     }
 
     @Transactional
@@ -57,6 +94,18 @@ public class MemberService {
 
         // Hard delete: remove the member from the database
         memberRepository.deleteById(id);
+        activityRollupService.recordMemberDeleted(LocalDate.now());
+        liveUpdateService.recordChanged();
+        TransactionCallbacks.afterCommit(() -> uniquenessIndexService.removeMember(id));
+    }
+
+    // Member and loan counts for the member loans page, read in one read-only transaction
+    @Transactional(readOnly = true)
+    public Optional<MemberLoanSummary> getMemberLoanSummary(Long memberId) {
+        return memberRepository.findById(memberId).map(member -> new MemberLoanSummary(member,
+                loanRepository.countByMemberIdAndReturnDateIsNull(memberId),
+                loanRepository.countByMemberIdAndReturnDateIsNotNull(memberId),
+                loanRepository.countByMemberId(memberId)));
     }
 
     public long getTotalLoansForMember(Long memberId) {
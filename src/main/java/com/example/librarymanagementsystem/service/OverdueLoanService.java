@@ -0,0 +1,86 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.config.ReadRouting;
+import com.example.librarymanagementsystem.dto.LoanView;
+import com.example.librarymanagementsystem.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Keeps the number of overdue loans (not returned, due date before today) in
+ * memory. The count is reconciled with the (return_date, due_date) index at
+ * startup and at midnight, when loans cross their due date, and adjusted after
+ * commit when a loan that is already overdue is created or returned. Edits and
+ * deletes of loans trigger a reconcile instead of guessing the delta.
+ * Reads never wait: writers update the count under the monitor and readers
+ * see the last value written.
+ */
+@Service
+public class OverdueLoanService {
+    private static final Logger log = LoggerFactory.getLogger(OverdueLoanService.class);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    // Written under the monitor (reconcile, adjust), read without locking
+    private volatile long overdueCount;
+
+    // Overdue loan count from memory; the midnight reconcile moves it to the new day
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${loans.overdue.reconcile-cron:0 0 0 * * *}")
+    public synchronized void reconcile() {
+        LocalDate today = LocalDate.now();
+        // Reads the primary: the count is adjusted incrementally after this
+        overdueCount = ReadRouting.callOnPrimary(() -> loanRepository.countByReturnDateIsNullAndDueDateBefore(today));
+        log.debug("Overdue loans reconciled for {}: {}", today, overdueCount);
+    }
+
+    // Overdue loans, oldest due date first
+    @Transactional(readOnly = true)
+    public Page<LoanView> getOverdueLoans(Pageable pageable) {
+        return loanRepository.findOverdueViews(LocalDate.now(), pageable);
+    }
+
+    public void recordCreated(Collection<LocalDate> dueDates) {
+        long overdue = countOverdue(dueDates);
+        if (overdue > 0) {
+            TransactionCallbacks.afterCommit(() -> adjust(overdue));
+        }
+    }
+
+    public void recordReturned(Collection<LocalDate> dueDates) {
+        long overdue = countOverdue(dueDates);
+        if (overdue > 0) {
+            TransactionCallbacks.afterCommit(() -> adjust(-overdue));
+        }
+    }
+
+    // A loan was edited or deleted; recount once the change is committed
+    public void recordChanged() {
+        TransactionCallbacks.afterCommit(this::reconcile);
+    }
+
+    private synchronized void adjust(long delta) {
+        overdueCount = Math.max(0, overdueCount + delta);
+    }
+
+    private static long countOverdue(Collection<LocalDate> dueDates) {
+        LocalDate today = LocalDate.now();
+        return dueDates.stream().filter(due -> due != null && due.isBefore(today)).count();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.librarymanagementsystem.service;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Helpers for walking large result sets without growing the persistence context
+final class PersistenceStreams {
+    // Rows handed out between persistence context clears
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private PersistenceStreams() {}
+
+    // Feed every row to the consumer, clearing the persistence context periodically
+    static <T> void forEachDetached(Stream<T> rows, EntityManager entityManager, Consumer<T> consumer) {
+        try (rows) {
+            int[] count = {0};
+            rows.forEach(row -> {
+                consumer.accept(row);
+                if (++count[0] % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.example.librarymanagementsystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds an empty database with synthetic categories, books, members and loans
+ * for local runs and load tests (datagen.* properties, see the bench profile).
+ *
+ * Rows are written with explicit ids in JDBC batches, one transaction per
+ * chunk, with chunks running in parallel. Every chunk has its own random
+ * stream derived from the seed, table and chunk number, so the same settings
+ * always produce the same data (dates relative to today) regardless of thread
+ * scheduling.
+ *
+ * Skew: book and member activity follow Zipf distributions (popular titles and
+ * heavy borrowers), as does the category of each book. Books and members
+ * arrive over datagen.years years, loans grow toward today, and a loan is
+ * never dated before its book or member existed. Most loans are returned,
+ * some late; recent ones are still out and datagen.overdue-rate of the rest
+ * are overdue. Books get at least as many copies as they have on loan.
+ *
+ * Runs on ApplicationStartedEvent, ahead of the ApplicationReadyEvent
+ * listeners, so the search index, uniqueness index, overdue count and
+ * activity rollup are built from the seeded data.
+ * Does nothing if any of the tables already has rows.
+ */
+@Service
+@ConditionalOnProperty(name = "datagen.enabled", havingValue = "true")
+public class SyntheticDataGenerator {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_CATEGORY = "INSERT INTO categories (id, name, active) VALUES (?, ?, TRUE)";
+    private static final String INSERT_BOOK =
+            "INSERT INTO book (id, title, author, isbn, publication_year, total_copies, available_copies, " +
+            "library_code, category_id, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEMBER =
+            "INSERT INTO member (id, name, email, phone, registered_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_LOAN =
+            "INSERT INTO loan (id, book_id, member_id, loan_date, due_date, return_date) VALUES (?, ?, ?, ?, ?, ?)";
+    // Popular books get enough copies for their open loans, then shelf counts follow
+    private static final String COVER_OPEN_LOANS =
+            "UPDATE book b SET total_copies = GREATEST(b.total_copies, " +
+            "(SELECT COUNT(*) FROM loan l WHERE l.book_id = b.id AND l.return_date IS NULL)) " +
+            "WHERE b.id IN (SELECT l.book_id FROM loan l WHERE l.return_date IS NULL)";
+    private static final String SET_AVAILABLE_COPIES =
+            "UPDATE book b SET available_copies = b.total_copies - " +
+            "(SELECT COUNT(*) FROM loan l WHERE l.book_id = b.id AND l.return_date IS NULL) " +
+            "WHERE b.id IN (SELECT l.book_id FROM loan l WHERE l.return_date IS NULL)";
+
+    private static final String[] SUBJECTS = {"Fiction", "Science", "History", "Mathematics", "Biography",
+            "Poetry", "Philosophy", "Technology", "Art", "Music", "Travel", "Cooking", "Health", "Economics",
+            "Law", "Politics", "Religion", "Psychology", "Education", "Children", "Mystery", "Fantasy",
+            "Romance", "Horror", "Drama", "Geography", "Languages", "Sports", "Business", "Engineering"};
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Golden", "Broken", "Distant", "Last",
+            "Forgotten", "Secret", "Bright", "Dark", "Little", "Endless", "Quiet", "Wild", "Ancient", "New"};
+    private static final String[] NOUNS = {"River", "Garden", "Kingdom", "Journey", "Mountain", "City",
+            "Harbor", "Forest", "Temple", "Letter", "Island", "Season", "Road", "Star", "House", "Dream"};
+    private static final String[] FIRST_NAMES = {"Sok", "Dara", "Sophea", "Vannak", "Chantha", "Bopha",
+            "Rithy", "Sreymom", "Kosal", "Malis", "James", "Maria", "David", "Anna", "Michael", "Linda",
+            "Wei", "Mei", "Hiro", "Yuki", "Ahmed", "Fatima", "Carlos", "Lucia", "Peter", "Emma"};
+    private static final String[] LAST_NAMES = {"Chan", "Sok", "Kim", "Heng", "Ly", "Meas", "Pich", "Nget",
+            "Smith", "Johnson", "Brown", "Garcia", "Miller", "Davis", "Wang", "Li", "Tanaka", "Sato",
+            "Hassan", "Lopez", "Martin", "Nguyen", "Tran", "Keo"};
+
+    // Share of books/members that already existed when the simulated period starts
+    private static final double INITIAL_BOOKS = 0.4;
+    private static final double INITIAL_MEMBERS = 0.2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+    @Value("${datagen.categories:40}")
+    private int categories;
+    @Value("${datagen.books:50000}")
+    private int books;
+    @Value("${datagen.members:10000}")
+    private int members;
+    @Value("${datagen.loans:500000}")
+    private int loans;
+    @Value("${datagen.years:5}")
+    private int years;
+    @Value("${datagen.loan-days:14}")
+    private int loanDays;
+    @Value("${datagen.overdue-rate:0.03}")
+    private double overdueRate;
+    @Value("${datagen.zipf-exponent:1.0}")
+    private double zipfExponent;
+    @Value("${datagen.threads:8}")
+    private int threads;
+    @Value("${datagen.chunk-size:10000}")
+    private int chunkSize;
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+
+    // Per-run values derived from the settings
+    private LocalDate start;
+    private int spanDays;
+
+    // Writes the row with the given 0-based index; the chunk's random stream is passed in row order
+    private interface RowWriter {
+        void write(PreparedStatement ps, int index, SplittableRandom random) throws SQLException;
+    }
+
+    // Started is published before ready, so the listeners that load in-memory state see the seeded rows
+    @EventListener(ApplicationStartedEvent.class)
+    public void generateIfEmpty() {
+        for (String table : List.of("categories", "book", "member", "loan")) {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (rows != null && rows > 0) {
+                log.info("Synthetic data skipped: table {} already has rows", table);
+                return;
+            }
+        }
+        generate();
+    }
+
+    public void generate() {
+        long started = System.nanoTime();
+        spanDays = Math.max(1, years * 365);
+        start = LocalDate.now().minusDays(spanDays);
+        int categoryCount = Math.max(1, categories);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            run(executor, chunks(INSERT_CATEGORY, 0, categoryCount, this::writeCategory));
+
+            ZipfSampler categoryZipf = new ZipfSampler(categoryCount, zipfExponent);
+            // A few prolific authors and a long tail
+            ZipfSampler authorZipf = new ZipfSampler(Math.max(1, books / 8), zipfExponent);
+            List<Callable<Void>> people = new ArrayList<>();
+            people.addAll(chunks(INSERT_BOOK, 1, books,
+                    (ps, i, random) -> writeBook(ps, i, random, categoryZipf, authorZipf)));
+            people.addAll(chunks(INSERT_MEMBER, 2, members, this::writeMember));
+            run(executor, people);
+
+            if (books > 0 && members > 0) {
+                ZipfSampler bookZipf = new ZipfSampler(books, zipfExponent);
+                ZipfSampler memberZipf = new ZipfSampler(members, zipfExponent);
+                long bookStride = stride(books);
+                long memberStride = stride(members);
+                run(executor, chunks(INSERT_LOAN, 3, loans, (ps, i, random) ->
+                        writeLoan(ps, i, random, bookZipf, bookStride, memberZipf, memberStride)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(COVER_OPEN_LOANS);
+            jdbcTemplate.update(SET_AVAILABLE_COPIES);
+        });
+        restartIdentities(categoryCount);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Synthetic data: {} categories, {} books, {} members, {} loans in {} s ({} rows/s)",
+                categoryCount, books, members, loans, String.format(Locale.ROOT, "%.1f", seconds),
+                Math.round((categoryCount + (long) books + members + loans) / Math.max(seconds, 0.001)));
+    }
+
+    // One task per chunk of rows; each chunk is one transaction with its own random stream
+    private List<Callable<Void>> chunks(String sql, int table, int count, RowWriter writer) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0, chunk = 0; from < count; from += chunkSize, chunk++) {
+            int first = from;
+            int last = Math.min(count, from + chunkSize);
+            SplittableRandom random = new SplittableRandom(seed * 1_000_003L + table * 1_000_000_007L + chunk);
+            tasks.add(() -> {
+                insertChunk(sql, first, last, random, writer);
+                return null;
+            });
+        }
+        return tasks;
+    }
+
+    private void insertChunk(String sql, int from, int to, SplittableRandom random, RowWriter writer) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute(sql, (PreparedStatementCallback<Void>) ps -> {
+                    for (int i = from; i < to; i++) {
+                        writer.write(ps, i, random);
+                        ps.addBatch();
+                        if ((i - from + 1) % batchSize == 0 || i == to - 1) {
+                            ps.executeBatch();
+                        }
+                    }
+                    return null;
+                }));
+    }
+
+    private static void run(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed.", e.getCause());
+        }
+    }
+
+    private void writeCategory(PreparedStatement ps, int i, SplittableRandom random) throws SQLException {
+        String name = SUBJECTS[i % SUBJECTS.length];
+        ps.setLong(1, i + 1);
+        ps.setString(2, i < SUBJECTS.length ? name : name + " " + (i / SUBJECTS.length + 1));
+    }
+
+    private void writeBook(PreparedStatement ps, int i, SplittableRandom random,
+                           ZipfSampler categoryZipf, ZipfSampler authorZipf) throws SQLException {
+        LocalDate created = start.plusDays(arrivalDay(i, books, INITIAL_BOOKS));
+        // Publication years skew recent: exponential age before the book was added
+        int age = (int) (-Math.log(1 - random.nextDouble()) * 12);
+        int copies = 1 + Math.min(9, (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+        String title = switch (random.nextInt(3)) {
+            case 0 -> "The " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random);
+            case 1 -> pick(NOUNS, random) + " of the " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random);
+            default -> "A " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random);
+        };
+        int author = authorZipf.sample(random);
+
+        ps.setLong(1, i + 1);
+        ps.setString(2, title);
+        ps.setString(3, FIRST_NAMES[author % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(author / FIRST_NAMES.length) % LAST_NAMES.length]);
+        ps.setString(4, isbn(i));
+        ps.setInt(5, Math.max(1900, created.getYear() - age));
+        ps.setInt(6, copies);
+        ps.setInt(7, copies);
+        ps.setString(8, String.format(Locale.ROOT, "LC-%07d", i + 1));
+        ps.setLong(9, categoryZipf.sample(random));
+        ps.setDate(10, Date.valueOf(created));
+    }
+
+    private void writeMember(PreparedStatement ps, int i, SplittableRandom random) throws SQLException {
+        String first = pick(FIRST_NAMES, random);
+        String last = pick(LAST_NAMES, random);
+        ps.setLong(1, i + 1);
+        ps.setString(2, first + " " + last);
+        ps.setString(3, (first + "." + last + "." + (i + 1) + "@example.com").toLowerCase(Locale.ROOT));
+        ps.setString(4, String.format(Locale.ROOT, "0%08d", 10_000_000 + i));
+        ps.setDate(5, Date.valueOf(start.plusDays(arrivalDay(i, members, INITIAL_MEMBERS))));
+    }
+
+    private void writeLoan(PreparedStatement ps, int i, SplittableRandom random,
+                           ZipfSampler bookZipf, long bookStride, ZipfSampler memberZipf, long memberStride)
+            throws SQLException {
+        // Popularity ranks are spread over the ids so popular books are not all the oldest ones
+        int book = (int) ((bookZipf.sample(random) - 1) * bookStride % books);
+        int member = (int) ((memberZipf.sample(random) - 1) * memberStride % members);
+
+        // Loan volume grows toward today; a loan is never older than its book or member
+        int earliest = Math.max(arrivalDay(book, books, INITIAL_BOOKS), arrivalDay(member, members, INITIAL_MEMBERS));
+        int day = (int) (spanDays * Math.sqrt(random.nextDouble()));
+        if (day < earliest) {
+            day = earliest + random.nextInt(Math.max(1, spanDays - earliest));
+        }
+        LocalDate loanDate = start.plusDays(day);
+        LocalDate dueDate = loanDate.plusDays(loanDays);
+        int daysOut = spanDays - day;
+
+        LocalDate returnDate;
+        if (daysOut <= loanDays) {
+            // Not due yet: most are still out
+            returnDate = random.nextDouble() < 0.7 ? null : loanDate.plusDays(random.nextInt(daysOut + 1));
+        } else if (random.nextDouble() < (daysOut - loanDays <= 90 ? overdueRate : overdueRate / 10)) {
+            returnDate = null;
+        } else {
+            // Usually back within the loan period, sometimes up to three weeks late
+            int kept = random.nextDouble() < 0.85 ? 1 + random.nextInt(loanDays) : loanDays + 1 + random.nextInt(21);
+            returnDate = loanDate.plusDays(Math.min(kept, daysOut));
+        }
+
+        ps.setLong(1, i + 1);
+        ps.setLong(2, book + 1);
+        ps.setLong(3, member + 1);
+        ps.setDate(4, Date.valueOf(loanDate));
+        ps.setDate(5, Date.valueOf(dueDate));
+        if (returnDate != null) {
+            ps.setDate(6, Date.valueOf(returnDate));
+        } else {
+            ps.setNull(6, Types.DATE);
+        }
+    }
+
+    // Day (from the start of the period) row `index` of `count` was added: an initial share on day 0, the rest evenly
+    private int arrivalDay(int index, int count, double initialShare) {
+        int initial = (int) (count * initialShare);
+        if (index < initial) {
+            return 0;
+        }
+        return (int) ((long) (index - initial) * spanDays / Math.max(1, count - initial));
+    }
+
+    // Multiplier coprime to n, used to scatter ranks 1..n over ids 0..n-1
+    private static long stride(int n) {
+        if (n <= 2) {
+            return 1;
+        }
+        BigInteger prime = BigInteger.valueOf((long) (n * 0.618)).nextProbablePrime();
+        while (n % prime.longValue() == 0) {
+            prime = prime.nextProbablePrime();
+        }
+        return prime.longValue();
+    }
+
+    // ISBN-13 with a valid check digit, unique per index
+    private static String isbn(int index) {
+        String digits = String.format(Locale.ROOT, "978%09d", index);
+        int sum = 0;
+        for (int d = 0; d < 12; d++) {
+            sum += (digits.charAt(d) - '0') * (d % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // Explicit ids do not advance H2 identity columns (MySQL moves AUTO_INCREMENT past them itself)
+    private void restartIdentities(int categoryCount) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"H2".equalsIgnoreCase(product)) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE categories ALTER COLUMN id RESTART WITH " + (categoryCount + 1));
+        jdbcTemplate.execute("ALTER TABLE book ALTER COLUMN id RESTART WITH " + (books + 1L));
+        jdbcTemplate.execute("ALTER TABLE member ALTER COLUMN id RESTART WITH " + (members + 1L));
+        jdbcTemplate.execute("ALTER TABLE loan ALTER COLUMN id RESTART WITH " + (loans + 1L));
+    }
+}
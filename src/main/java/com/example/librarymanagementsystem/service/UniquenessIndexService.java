@@ -0,0 +1,196 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.config.ReadRouting;
+import com.example.librarymanagementsystem.dto.BookKeys;
+import com.example.librarymanagementsystem.dto.MemberKeys;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of normalized (trimmed, lower-cased) values for the fields
+ * the forms validate live: book title, ISBN and library code, member name,
+ * email and phone. Each check is a hash lookup. The index is warmed at startup
+ * and updated after BookService/MemberService commits; while it is not loaded
+ * (before warm-up or after invalidate()) checks fall back to indexed
+ * existsBy... equality queries, case-insensitive through the column collation.
+ */
+@Service
+public class UniquenessIndexService {
+    private static final Logger log = LoggerFactory.getLogger(UniquenessIndexService.class);
+
+    public enum Field { BOOK_TITLE, BOOK_ISBN, BOOK_LIBRARY_CODE, MEMBER_NAME, MEMBER_EMAIL, MEMBER_PHONE }
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    // normalized value -> ids holding it (titles and names may legitimately repeat)
+    private final Map<Field, Map<String, Set<Long>>> idsByKey = new EnumMap<>(Field.class);
+    // id -> normalized value, so an update can drop the old key
+    private final Map<Field, Map<Long, String>> keyById = new EnumMap<>(Field.class);
+
+    private volatile boolean loaded;
+
+    public UniquenessIndexService() {
+        for (Field field : Field.values()) {
+            idsByKey.put(field, new ConcurrentHashMap<>());
+            keyById.put(field, new ConcurrentHashMap<>());
+        }
+    }
+
+    // True if another record (excluding excludeId, the record being edited) already uses the value
+    public boolean isDuplicate(Field field, String value, Long excludeId) {
+        String key = normalize(value);
+        if (key == null) {
+            return false;
+        }
+        if (!loaded) {
+            return existsInDatabase(field, value.trim(), excludeId);
+        }
+        Set<Long> ids = idsByKey.get(field).get(key);
+        if (ids == null) {
+            return false;
+        }
+        for (Long id : ids) {
+            if (!id.equals(excludeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Reads the primary: the index is kept current incrementally from here on
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        ReadRouting.runOnPrimary(this::load);
+    }
+
+    private void load() {
+        loaded = false;
+        idsByKey.values().forEach(Map::clear);
+        keyById.values().forEach(Map::clear);
+
+        for (BookKeys book : bookRepository.findAllKeys()) {
+            put(Field.BOOK_TITLE, book.getId(), book.getTitle());
+            put(Field.BOOK_ISBN, book.getId(), book.getIsbn());
+            put(Field.BOOK_LIBRARY_CODE, book.getId(), book.getLibraryCode());
+        }
+        for (MemberKeys member : memberRepository.findAllKeys()) {
+            put(Field.MEMBER_NAME, member.getId(), member.getName());
+            put(Field.MEMBER_EMAIL, member.getId(), member.getEmail());
+            put(Field.MEMBER_PHONE, member.getId(), member.getPhone());
+        }
+        loaded = true;
+        log.info("Uniqueness index loaded: {} book title(s), {} member name(s)",
+                keyById.get(Field.BOOK_TITLE).size(), keyById.get(Field.MEMBER_NAME).size());
+    }
+
+    // Drop the in-memory data; checks use the database until the next rebuild()
+    public synchronized void invalidate() {
+        loaded = false;
+        idsByKey.values().forEach(Map::clear);
+        keyById.values().forEach(Map::clear);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void indexBook(Long id, String title, String isbn, String libraryCode) {
+        if (!loaded) {
+            return;
+        }
+        put(Field.BOOK_TITLE, id, title);
+        put(Field.BOOK_ISBN, id, isbn);
+        put(Field.BOOK_LIBRARY_CODE, id, libraryCode);
+    }
+
+    public synchronized void removeBook(Long id) {
+        remove(Field.BOOK_TITLE, id);
+        remove(Field.BOOK_ISBN, id);
+        remove(Field.BOOK_LIBRARY_CODE, id);
+    }
+
+    public synchronized void indexMember(Long id, String name, String email, String phone) {
+        if (!loaded) {
+            return;
+        }
+        put(Field.MEMBER_NAME, id, name);
+        put(Field.MEMBER_EMAIL, id, email);
+        put(Field.MEMBER_PHONE, id, phone);
+    }
+
+    public synchronized void removeMember(Long id) {
+        remove(Field.MEMBER_NAME, id);
+        remove(Field.MEMBER_EMAIL, id);
+        remove(Field.MEMBER_PHONE, id);
+    }
+
+    private void put(Field field, Long id, String value) {
+        remove(field, id);
+        String key = normalize(value);
+        if (key == null) {
+            return;
+        }
+        idsByKey.get(field).computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        keyById.get(field).put(id, key);
+    }
+
+    private void remove(Field field, Long id) {
+        String oldKey = keyById.get(field).remove(id);
+        if (oldKey == null) {
+            return;
+        }
+        idsByKey.get(field).computeIfPresent(oldKey, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private boolean existsInDatabase(Field field, String value, Long excludeId) {
+        boolean editing = excludeId != null;
+        switch (field) {
+            case BOOK_TITLE:
+                return editing ? bookRepository.existsByTitleAndIdNot(value, excludeId)
+                        : bookRepository.existsByTitle(value);
+            case BOOK_ISBN:
+                return editing ? bookRepository.existsByIsbnAndIdNot(value, excludeId)
+                        : bookRepository.existsByIsbn(value);
+            case BOOK_LIBRARY_CODE:
+                return editing ? bookRepository.existsByLibraryCodeAndIdNot(value, excludeId)
+                        : bookRepository.existsByLibraryCode(value);
+            case MEMBER_NAME:
+                return editing ? memberRepository.existsByNameAndIdNot(value, excludeId)
+                        : memberRepository.existsByName(value);
+            case MEMBER_EMAIL:
+                return editing ? memberRepository.existsByEmailAndIdNot(value, excludeId)
+                        : memberRepository.existsByEmail(value);
+            case MEMBER_PHONE:
+                return editing ? memberRepository.existsByPhoneAndIdNot(value, excludeId)
+                        : memberRepository.existsByPhone(value);
+            default:
+                throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
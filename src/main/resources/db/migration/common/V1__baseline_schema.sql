@@ -0,0 +1,47 @@
+-- Schema as previously generated by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and start at V2.
+
+CREATE TABLE categories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE book (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    author VARCHAR(255),
+    isbn VARCHAR(255),
+    publication_year INT NOT NULL,
+    total_copies INT NOT NULL,
+    available_copies INT NOT NULL,
+    library_code VARCHAR(255),
+    book_category VARCHAR(255),
+    created_date DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_book_library_code UNIQUE (library_code)
+);
+
+CREATE TABLE member (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    registered_date DATE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE loan (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    book_id BIGINT,
+    member_id BIGINT,
+    loan_date DATE,
+    due_date DATE,
+    return_date DATE,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE loan ADD CONSTRAINT fk_loan_book FOREIGN KEY (book_id) REFERENCES book (id);
+ALTER TABLE loan ADD CONSTRAINT fk_loan_member FOREIGN KEY (member_id) REFERENCES member (id);
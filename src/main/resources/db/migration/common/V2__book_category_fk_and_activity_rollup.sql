@@ -0,0 +1,34 @@
+-- Book references its category by id instead of the free-text book_category column.
+
+ALTER TABLE book ADD COLUMN category_id BIGINT;
+
+CREATE INDEX idx_book_category_id ON book (category_id);
+
+ALTER TABLE book ADD CONSTRAINT fk_book_category FOREIGN KEY (category_id) REFERENCES categories (id);
+
+-- Categories that only existed as text, one per case-insensitive name
+INSERT INTO categories (name, active)
+SELECT MIN(TRIM(b.book_category)), TRUE FROM book b
+WHERE b.book_category IS NOT NULL AND TRIM(b.book_category) <> ''
+AND NOT EXISTS (SELECT 1 FROM categories c WHERE LOWER(c.name) = LOWER(TRIM(b.book_category)))
+GROUP BY LOWER(TRIM(b.book_category));
+
+-- Link every book with one set-based update
+UPDATE book b SET category_id =
+    (SELECT MIN(c.id) FROM categories c WHERE LOWER(c.name) = LOWER(TRIM(b.book_category)))
+WHERE b.category_id IS NULL AND b.book_category IS NOT NULL;
+
+-- Overdue/active loan scans (return_date IS NULL AND due_date < ?)
+CREATE INDEX idx_loan_return_due ON loan (return_date, due_date);
+
+-- Per-day activity counters for the history endpoints
+CREATE TABLE daily_activity_rollup (
+    activity_date DATE NOT NULL,
+    books_added INT NOT NULL,
+    books_deleted INT NOT NULL,
+    members_added INT NOT NULL,
+    members_deleted INT NOT NULL,
+    new_loans INT NOT NULL,
+    returned_loans INT NOT NULL,
+    PRIMARY KEY (activity_date)
+);
@@ -0,0 +1,20 @@
+-- Indexes for the predicates used by the repository queries.
+
+-- Loan counts/lookups per book and per member, with or without the return date
+-- (countByBookId..., countByMemberId..., find...AndReturnDateIsNotNull).
+-- They also serve the foreign keys on book_id and member_id.
+CREATE INDEX idx_loan_book_return ON loan (book_id, return_date);
+CREATE INDEX idx_loan_member_return ON loan (member_id, return_date);
+
+-- Date lookups: due dates, and the per-day activity rollup backfill
+CREATE INDEX idx_loan_due_date ON loan (due_date);
+CREATE INDEX idx_loan_loan_date ON loan (loan_date);
+CREATE INDEX idx_book_created_date ON book (created_date);
+CREATE INDEX idx_member_registered_date ON member (registered_date);
+
+-- Exact-match validation lookups
+CREATE INDEX idx_book_isbn ON book (isbn);
+CREATE INDEX idx_book_title ON book (title);
+CREATE INDEX idx_member_name ON member (name);
+CREATE INDEX idx_member_email ON member (email);
+CREATE INDEX idx_member_phone ON member (phone);
@@ -0,0 +1,3 @@
+-- The free-text category was copied to book.category_id in V2 and is no longer mapped.
+
+ALTER TABLE book DROP COLUMN book_category;
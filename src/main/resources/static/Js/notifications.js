@@ -0,0 +1,66 @@
+// Overdue loan notifications for the dashboard pages.
+// The page feeds handle() from its /api/live stream, or calls checkNotifications() while it polls.
+class SMSNotificationSystem {
+    constructor(container) {
+        this.container = container;
+    }
+
+    async checkNotifications() {
+        try {
+            const response = await fetch('/api/notifications').then(r => r.json());
+            this.handle(response);
+        } catch (error) {
+            console.error('Error checking notifications:', error);
+        }
+    }
+
+    handle(response) {
+        if (response.count > 0) {
+            this.showNotification(response.type, response.message, response.count);
+        }
+    }
+
+    showNotification(type, message, count) {
+        const notification = document.createElement('div');
+        notification.className = `sms-notification ${type}`;
+
+        const icon = type === 'warning' ? '⚠️' : '✅';
+        const title = type === 'warning' ? 'ការជូនដំណឹង' : 'ស្ថានភាពល្អ';
+
+        notification.innerHTML = `
+            <button class="close-btn">&times;</button>
+            <div class="notification-header">
+                <div class="notification-icon ${type}">${icon}</div>
+                <div class="notification-title">${title}</div>
+            </div>
+            <div class="notification-message">${message}</div>
+        `;
+
+        this.container.appendChild(notification);
+
+        // Show animation
+        setTimeout(() => {
+            notification.classList.add('show');
+        }, 100);
+
+        // Auto hide after 5 seconds
+        setTimeout(() => {
+            this.hideNotification(notification);
+        }, 5000);
+
+        // Close button functionality
+        const closeBtn = notification.querySelector('.close-btn');
+        closeBtn.addEventListener('click', () => {
+            this.hideNotification(notification);
+        });
+    }
+
+    hideNotification(notification) {
+        notification.classList.add('hide');
+        setTimeout(() => {
+            if (notification.parentNode) {
+                notification.parentNode.removeChild(notification);
+            }
+        }, 500);
+    }
+}
@@ -385,103 +385,3 @@ document.addEventListener('click', function(e) {
         dismissAlert(e.target.querySelector('.alert-close'));
     }
 });
-
-// Index page JavaScript
-    class SMSNotificationSystem {
-    constructor() {
-    this.container = document.getElementById('notificationContainer');
-    this.init();
-}
-
-    init() {
-    // Check for notifications every 30 seconds
-    this.checkNotifications();
-    setInterval(() => {
-    this.checkNotifications();
-}, 30000);
-}
-
-    async checkNotifications() {
-    try {
-    // Simulate API call - replace with actual API endpoint
-    const response = await this.simulateAPICall();
-    if (response.count > 0) {
-    this.showNotification(response.type, response.message, response.count);
-}
-} catch (error) {
-    console.error('Error checking notifications:', error);
-}
-}
-
-    // Simulate API call - replace with actual fetch to /api/notifications
-    simulateAPICall() {
-    return new Promise((resolve) => {
-    // Simulate random overdue loans for demo
-    const overdueCount = Math.floor(Math.random() * 6); // 0-5 overdue loans
-    setTimeout(() => {
-    if (overdueCount > 0) {
-    resolve({
-    type: 'warning',
-    message: `មានការខ្ចីសៀវភៅចំនួន ${overdueCount} ដែលហួសកំណត់ពេល!`,
-    count: overdueCount
-});
-} else {
-    resolve({
-    type: 'success',
-    message: 'មិនមានការខ្ចីហួសកំណត់ពេលទេ',
-    count: 0
-});
-}
-}, 500);
-});
-}
-
-    showNotification(type, message, count) {
-    const notification = document.createElement('div');
-    notification.className = `sms-notification ${type}`;
-
-    const icon = type === 'warning' ? '⚠️' : '✅';
-    const title = type === 'warning' ? 'ការជូនដំណឹង' : 'ស្ថានភាពល្អ';
-
-    notification.innerHTML = `
-                    <button class="close-btn">&times;</button>
-                    <div class="notification-header">
-                        <div class="notification-icon ${type}">${icon}</div>
-                        <div class="notification-title">${title}</div>
-                    </div>
-                    <div class="notification-message">${message}</div>
-                `;
-
-    this.container.appendChild(notification);
-
-    // Show animation
-    setTimeout(() => {
-    notification.classList.add('show');
-}, 100);
-
-    // Auto hide after 5 seconds
-    setTimeout(() => {
-    this.hideNotification(notification);
-}, 5000);
-
-    // Close button functionality
-    const closeBtn = notification.querySelector('.close-btn');
-    closeBtn.addEventListener('click', () => {
-    this.hideNotification(notification);
-});
-}
-
-    hideNotification(notification) {
-    notification.classList.add('hide');
-    setTimeout(() => {
-    if (notification.parentNode) {
-    notification.parentNode.removeChild(notification);
-}
-}, 500);
-}
-}
-
-    // Initialize the notification system when page loads
-    document.addEventListener('DOMContentLoaded', () => {
-    new SMSNotificationSystem();
-});
\ No newline at end of file
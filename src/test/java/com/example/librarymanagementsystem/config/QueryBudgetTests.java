@@ -0,0 +1,143 @@
+package com.example.librarymanagementsystem.config;
+
+import com.example.librarymanagementsystem.controller.BookController;
+import com.example.librarymanagementsystem.controller.CategoryStatsController;
+import com.example.librarymanagementsystem.controller.HomeController;
+import com.example.librarymanagementsystem.controller.MemberController;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.service.DashboardSnapshotService;
+import com.example.librarymanagementsystem.service.HistoryService;
+import com.example.librarymanagementsystem.service.LibrarySummaryService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Calls the @QueryBudget endpoints and services against seeded data. The test
+ * configuration sets query-budget.fail-on-breach, so a method that starts
+ * running per-row queries fails here with QueryBudgetExceededException.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CategoryStatsController categoryStatsController;
+    @Autowired
+    private BookController bookController;
+    @Autowired
+    private MemberController memberController;
+    @Autowired
+    private HomeController homeController;
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+    @Autowired
+    private LibrarySummaryService librarySummaryService;
+    @Autowired
+    private HistoryService historyService;
+    @Autowired
+    private BudgetProbe budgetProbe;
+
+    // Several categories, books per category and loans per book, so per-row loops would show up
+    @BeforeAll
+    void seed() {
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            categories.add(new Object[]{"Budget Category " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, active) VALUES (?, TRUE)", categories);
+        Long firstCategory = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM categories WHERE name LIKE 'Budget Category %'", Long.class);
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            books.add(new Object[]{"Budget Book " + i, "LC-QB-" + i, firstCategory + i % 10, today.minusDays(i % 7)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (title, library_code, category_id, created_date, publication_year, " +
+                "total_copies, available_copies) VALUES (?, ?, ?, ?, 2000, 5, 5)", books);
+
+        List<Object[]> members = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            members.add(new Object[]{"Budget Member " + i, "budget" + i + "@example.com", today.minusDays(i % 7)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO member (name, email, registered_date) VALUES (?, ?, ?)", members);
+
+        Long firstBook = jdbcTemplate.queryForObject("SELECT MIN(id) FROM book WHERE library_code LIKE 'LC-QB-%'", Long.class);
+        Long firstMember = jdbcTemplate.queryForObject("SELECT MIN(id) FROM member WHERE email LIKE 'budget%'", Long.class);
+        List<Object[]> loans = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate loanDate = today.minusDays(i % 30);
+            loans.add(new Object[]{firstBook + i % 50, firstMember + i % 20, loanDate, loanDate.plusWeeks(2),
+                    i % 2 == 0 ? null : loanDate.plusDays(3)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO loan (book_id, member_id, loan_date, due_date, return_date) " +
+                "VALUES (?, ?, ?, ?, ?)", loans);
+    }
+
+    @Test
+    void statsEndpointsStayWithinBudget() {
+        assertDoesNotThrow(() -> categoryStatsController.getTopCategories());
+        assertDoesNotThrow(() -> bookController.getTopCategories());
+        assertDoesNotThrow(() -> librarySummaryService.getSummary());
+        assertDoesNotThrow(() -> historyService.getActivity(30));
+    }
+
+    @Test
+    void dashboardStaysWithinBudget() {
+        assertDoesNotThrow(() -> dashboardSnapshotService.buildSnapshot());
+        assertDoesNotThrow(() -> homeController.home(new ExtendedModelMap()));
+        assertDoesNotThrow(() -> homeController.getNotifications());
+    }
+
+    @Test
+    void validationEndpointsRunNoQueries() {
+        assertDoesNotThrow(() -> bookController.validateTitle("Budget Book 1", null));
+        assertDoesNotThrow(() -> bookController.validateIsbn("978-QB-1", null));
+        assertDoesNotThrow(() -> bookController.validateLibraryCode("LC-QB-1", null));
+        assertDoesNotThrow(() -> memberController.validateName("Budget Member 1", null));
+        assertDoesNotThrow(() -> memberController.validateEmail("budget1@example.com", null));
+        assertDoesNotThrow(() -> memberController.validatePhone("012345678", null));
+    }
+
+    @Test
+    void breachFailsTheCall() {
+        assertThrows(QueryBudgetExceededException.class, () -> budgetProbe.countTwice());
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+        @Bean
+        BudgetProbe budgetProbe(BookRepository bookRepository) {
+            return new BudgetProbe(bookRepository);
+        }
+    }
+
+    // Runs two statements under a budget of one
+    static class BudgetProbe {
+        private final BookRepository bookRepository;
+
+        BudgetProbe(BookRepository bookRepository) {
+            this.bookRepository = bookRepository;
+        }
+
+        @QueryBudget(max = 1)
+        public long countTwice() {
+            return bookRepository.count() + bookRepository.count();
+        }
+    }
+}
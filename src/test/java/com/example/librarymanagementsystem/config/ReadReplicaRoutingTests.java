@@ -0,0 +1,132 @@
+package com.example.librarymanagementsystem.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing with two embedded H2 databases standing in for the primary
+ * (library_test) and the replica (library_replica). The replica's lag is read
+ * from a one-row table on the replica, so the test can make it lag.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.jdbc-url=jdbc:h2:mem:library_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica.driver-class-name=org.h2.Driver",
+        "datasource.replica.lag-query=SELECT seconds FROM replica_lag",
+        "datasource.replica.lag-check-ms=3600000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeAll
+    void createLagTable() {
+        new JdbcTemplate(replicaDataSource).execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds BIGINT)");
+    }
+
+    @AfterAll
+    void stopUsingReplica() {
+        setLag(3600);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaWhileItIsCaughtUp() {
+        setLag(0);
+        assertTrue(connectionUrl(true).contains("library_replica"));
+    }
+
+    @Test
+    void writeTransactionsUseThePrimary() {
+        setLag(0);
+        assertTrue(connectionUrl(false).contains("library_test"));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        setLag(60);
+        assertFalse(replicaLagMonitor.isAvailable());
+        assertTrue(connectionUrl(true).contains("library_test"));
+    }
+
+    @Test
+    void replicaWithoutReplicationStatusIsUnavailable() {
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM replica_lag");
+        replicaLagMonitor.check();
+        assertFalse(replicaLagMonitor.isAvailable());
+        assertTrue(connectionUrl(true).contains("library_test"));
+    }
+
+    @Test
+    void readsThatMustSeeOwnWritesUseThePrimary() {
+        setLag(0);
+        assertTrue(ReadRouting.callOnPrimary(() -> connectionUrl(true)).contains("library_test"));
+    }
+
+    @Test
+    void requestsAfterAWriteReadFromThePrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(10000);
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/books/save"), postResponse,
+                (request, response) -> primaryRequired.set(ReadRouting.isPrimaryRequired()));
+        Cookie cookie = postResponse.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(primaryRequired.get());
+
+        MockHttpServletRequest redirected = new MockHttpServletRequest("GET", "/books");
+        redirected.setCookies(cookie);
+        filter.doFilter(redirected, new MockHttpServletResponse(),
+                (request, response) -> primaryRequired.set(ReadRouting.isPrimaryRequired()));
+        assertTrue(primaryRequired.get());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/books"), new MockHttpServletResponse(),
+                (request, response) -> primaryRequired.set(ReadRouting.isPrimaryRequired()));
+        assertFalse(primaryRequired.get());
+        assertFalse(ReadRouting.isPrimaryRequired());
+    }
+
+    private void setLag(long seconds) {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (seconds) VALUES (?)", seconds);
+        replicaLagMonitor.check();
+    }
+
+    // URL of the database the transaction's connection points at
+    private String connectionUrl(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.librarymanagementsystem.repository;
+
+import com.example.librarymanagementsystem.config.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Calls the selective repository methods, captures the SQL Hibernate prepares
+ * for them and runs EXPLAIN on it (against the Flyway-built H2 schema),
+ * failing on any full table scan. Whole-table aggregates (counts, summaries,
+ * GROUP BY backfills), streams of every row and LIKE '%..%' searches scan by
+ * design and are not listed.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private DailyActivityRollupRepository dailyActivityRollupRepository;
+
+    // Enough rows that the planner prefers an index over scanning
+    @BeforeAll
+    void seed() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> books = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            books.add(new Object[]{"Index Book " + i, "LC-IDX-" + i, "978-IDX-" + i, today.minusDays(i % 30)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (title, library_code, isbn, created_date, publication_year, " +
+                "total_copies, available_copies) VALUES (?, ?, ?, ?, 2000, 3, 3)", books);
+
+        List<Object[]> members = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            members.add(new Object[]{"Index Member " + i, "idx" + i + "@example.com", "0990" + i, today.minusDays(i % 30)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO member (name, email, phone, registered_date) VALUES (?, ?, ?, ?)", members);
+
+        Long firstBook = jdbcTemplate.queryForObject("SELECT MIN(id) FROM book WHERE library_code LIKE 'LC-IDX-%'", Long.class);
+        Long firstMember = jdbcTemplate.queryForObject("SELECT MIN(id) FROM member WHERE email LIKE 'idx%'", Long.class);
+        List<Object[]> loans = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            LocalDate loanDate = today.minusDays(i % 60);
+            loans.add(new Object[]{firstBook + i % 300, firstMember + i % 100, loanDate, loanDate.plusWeeks(2),
+                    i % 3 == 0 ? null : loanDate.plusDays(7)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO loan (book_id, member_id, loan_date, due_date, return_date) " +
+                "VALUES (?, ?, ?, ?, ?)", loans);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    Stream<Arguments> repositoryCalls() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        return Stream.of(
+                // LoanRepository
+                call("countByReturnDateIsNull", () -> loanRepository.countByReturnDateIsNull()),
+                call("countByBookIdAndReturnDateIsNull", () -> loanRepository.countByBookIdAndReturnDateIsNull(1L)),
+                call("countByMemberIdAndReturnDateIsNull", () -> loanRepository.countByMemberIdAndReturnDateIsNull(1L)),
+                call("countByBookId", () -> loanRepository.countByBookId(1L)),
+                call("countByMemberId", () -> loanRepository.countByMemberId(1L)),
+                call("countByBookIdAndReturnDateIsNotNull", () -> loanRepository.countByBookIdAndReturnDateIsNotNull(1L)),
+                call("countByMemberIdAndReturnDateIsNotNull", () -> loanRepository.countByMemberIdAndReturnDateIsNotNull(1L)),
+                call("findByBookIdAndReturnDateIsNotNull", () -> loanRepository.findByBookIdAndReturnDateIsNotNull(1L)),
+                call("findByMemberIdAndReturnDateIsNotNull", () -> loanRepository.findByMemberIdAndReturnDateIsNotNull(1L)),
+                call("findByReturnDateIsNull", () -> loanRepository.findByReturnDateIsNull()),
+                call("countByReturnDateIsNullAndDueDateBefore", () -> loanRepository.countByReturnDateIsNullAndDueDateBefore(date)),
+                call("findOverdueViews", () -> loanRepository.findOverdueViews(date, PageRequest.of(0, 100))),
+                call("findViewsByIdGreaterThan", () -> loanRepository.findViewsByIdGreaterThan(100L, Limit.of(100))),
+                call("findViewById", () -> loanRepository.findViewById(1L)),
+                call("findBookRefsByIdIn", () -> loanRepository.findBookRefsByIdIn(List.of(1L, 2L, 3L))),
+                call("markReturned", () -> loanRepository.markReturned(1L, date)),
+                // BookRepository
+                call("book findById", () -> bookRepository.findById(1L)),
+                call("countByCategoryId", () -> bookRepository.countByCategoryId(1L)),
+                call("findByIdGreaterThanOrderByIdAsc", () -> bookRepository.findByIdGreaterThanOrderByIdAsc(100L, Limit.of(100))),
+                call("book findExistingIds", () -> bookRepository.findExistingIds(List.of(1L, 2L, 3L))),
+                call("decrementAvailableCopies", () -> bookRepository.decrementAvailableCopies(1L)),
+                call("incrementAvailableCopies", () -> bookRepository.incrementAvailableCopies(1L)),
+                call("existsByLibraryCode", () -> bookRepository.existsByLibraryCode("LC-IDX-1")),
+                call("existsByLibraryCodeAndIdNot", () -> bookRepository.existsByLibraryCodeAndIdNot("LC-IDX-1", 1L)),
+                call("existsByTitle", () -> bookRepository.existsByTitle("index book 1")),
+                call("existsByTitleAndIdNot", () -> bookRepository.existsByTitleAndIdNot("index book 1", 1L)),
+                call("existsByIsbn", () -> bookRepository.existsByIsbn("978-idx-1")),
+                call("existsByIsbnAndIdNot", () -> bookRepository.existsByIsbnAndIdNot("978-idx-1", 1L)),
+                // MemberRepository
+                call("member findByIdGreaterThanOrderByIdAsc", () -> memberRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(100))),
+                call("member findExistingIds", () -> memberRepository.findExistingIds(List.of(1L, 2L, 3L))),
+                call("existsByName", () -> memberRepository.existsByName("index member 1")),
+                call("existsByNameAndIdNot", () -> memberRepository.existsByNameAndIdNot("index member 1", 1L)),
+                call("existsByEmail", () -> memberRepository.existsByEmail("idx1@example.com")),
+                call("existsByEmailAndIdNot", () -> memberRepository.existsByEmailAndIdNot("idx1@example.com", 1L)),
+                call("existsByPhone", () -> memberRepository.existsByPhone("09901")),
+                call("existsByPhoneAndIdNot", () -> memberRepository.existsByPhoneAndIdNot("09901", 1L)),
+                // DailyActivityRollupRepository
+                call("findByActivityDateBetweenOrderByActivityDateAsc", () -> dailyActivityRollupRepository
+                        .findByActivityDateBetweenOrderByActivityDateAsc(date, date.plusDays(30)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryCalls")
+    void queryUsesAnIndex(String method, Runnable call) {
+        // Updates are rolled back so every call sees the seeded rows
+        List<String> statements = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return SqlStatementCounter.capture(call);
+        });
+        assertFalse(statements.isEmpty(), () -> method + " ran no SQL");
+        for (String sql : statements) {
+            // EXPLAIN only plans the statement; the parameters just need to be bound
+            Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+            assertFalse(plan.toLowerCase().contains("tablescan"), () -> "Full table scan in " + method + ": " + sql + "\n" + plan);
+        }
+    }
+
+    private static Arguments call(String method, Runnable call) {
+        return Arguments.of(method, call);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.dto.ImportReport;
+import com.example.librarymanagementsystem.search.CatalogSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookImportServiceTests {
+    @Autowired
+    private BookImportService bookImportService;
+    @Autowired
+    private UniquenessIndexService uniquenessIndexService;
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void failedChunkIsRetriedRowByRow() throws Exception {
+        // The over-long title passes validation but fails the insert, taking the whole batch with it
+        String csv = "title,libraryCode,bookCategory,totalCopies\n" +
+                "Retry First,LC-IMP-001,Import Tests,2\n" +
+                "\"" + "x".repeat(300) + "\",LC-IMP-002,Import Tests,1\n" +
+                "Retry Third,LC-IMP-003,Import Tests,1\n";
+
+        ImportReport report = bookImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM book WHERE library_code IN ('LC-IMP-001', 'LC-IMP-002', 'LC-IMP-003')", Integer.class));
+
+        // Only the committed rows reach the in-memory indexes
+        assertTrue(uniquenessIndexService.isDuplicate(UniquenessIndexService.Field.BOOK_LIBRARY_CODE, "LC-IMP-003", null));
+        assertFalse(uniquenessIndexService.isDuplicate(UniquenessIndexService.Field.BOOK_LIBRARY_CODE, "LC-IMP-002", null));
+        Long firstId = jdbcTemplate.queryForObject("SELECT id FROM book WHERE library_code = 'LC-IMP-001'", Long.class);
+        assertTrue(catalogSearchService.search("Retry First").contains(firstId));
+    }
+
+    @Test
+    void categoryOfFailedRowsIsNotCreated() throws Exception {
+        String csv = "title,libraryCode,bookCategory\n" +
+                "\"" + "x".repeat(300) + "\",LC-IMP-101,Orphan Import Category\n";
+
+        ImportReport report = bookImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, report.getFailed());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categories WHERE name = 'Orphan Import Category'", Integer.class));
+    }
+}
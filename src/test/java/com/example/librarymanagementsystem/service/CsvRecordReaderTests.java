@@ -0,0 +1,65 @@
+package com.example.librarymanagementsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTests {
+
+    @Test
+    void quotedFieldsKeepTheirCommas() throws IOException {
+        CsvRecordReader csv = reader("a,\"b,c\",d\n");
+        assertEquals(List.of("a", "b,c", "d"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void doubledQuotesAreUnescaped() throws IOException {
+        CsvRecordReader csv = reader("\"say \"\"hi\"\"\",x\n");
+        assertEquals(List.of("say \"hi\"", "x"), csv.next());
+    }
+
+    @Test
+    void quotedNewlinesStayInTheFieldAndAdvanceTheLineNumber() throws IOException {
+        CsvRecordReader csv = reader("id,note\n1,\"first\nsecond\"\n2,plain\n");
+        assertEquals(List.of("id", "note"), csv.next());
+        assertEquals(2, csv.getLineNumber());
+        assertEquals(List.of("1", "first\nsecond"), csv.next());
+        assertEquals(4, csv.getLineNumber());
+        assertEquals(List.of("2", "plain"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void crlfEndsARecord() throws IOException {
+        CsvRecordReader csv = reader("a,b\r\nc,d\r\n");
+        assertEquals(List.of("a", "b"), csv.next());
+        assertEquals(List.of("c", "d"), csv.next());
+        assertEquals(3, csv.getLineNumber());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        CsvRecordReader csv = reader("\uFEFFtitle,libraryCode\nx,y");
+        assertEquals(List.of("title", "libraryCode"), csv.next());
+        assertEquals(List.of("x", "y"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void unterminatedQuoteIsAnError() {
+        CsvRecordReader csv = reader("a,\"open\n");
+        assertThrows(IOException.class, csv::next);
+    }
+
+    private static CsvRecordReader reader(String input) {
+        return new CsvRecordReader(new StringReader(input));
+    }
+}
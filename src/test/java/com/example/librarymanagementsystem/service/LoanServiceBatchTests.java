@@ -0,0 +1,87 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.dto.BatchItemResult;
+import com.example.librarymanagementsystem.dto.LoanCheckoutRequest;
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.entity.Member;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class LoanServiceBatchTests {
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void bookRunningOutMidBatchFailsOnlyTheLaterItems() {
+        Book scarce = bookRepository.save(new Book("Batch Scarce", "Tester", null, 2024, 1, 1, "LC-BATCH-001", "Testing"));
+        Book plenty = bookRepository.save(new Book("Batch Plenty", "Tester", null, 2024, 5, 5, "LC-BATCH-002", "Testing"));
+        Member member = memberRepository.save(new Member("Batch Tester", "batch1@example.com", "020000001"));
+
+        List<BatchItemResult> results = loanService.checkoutBatch(List.of(
+                new LoanCheckoutRequest(scarce.getId(), member.getId(), null),
+                new LoanCheckoutRequest(scarce.getId(), member.getId(), null),
+                new LoanCheckoutRequest(plenty.getId(), member.getId(), null)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("No available copies of the book to loan.", results.get(1).getMessage());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(0, bookRepository.findById(scarce.getId()).orElseThrow().getAvailableCopies());
+        assertEquals(4, bookRepository.findById(plenty.getId()).orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void nullItemFailsOnItsOwn() {
+        Book book = bookRepository.save(new Book("Batch Null Item", "Tester", null, 2024, 2, 2, "LC-BATCH-003", "Testing"));
+        Member member = memberRepository.save(new Member("Batch Null Tester", "batch2@example.com", "020000002"));
+
+        List<BatchItemResult> results = loanService.checkoutBatch(Arrays.asList(
+                null, new LoanCheckoutRequest(book.getId(), member.getId(), null)));
+
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("Missing checkout request.", results.get(0).getMessage());
+        assertTrue(results.get(1).isSuccess());
+    }
+
+    @Test
+    void missingBodyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> loanService.checkoutBatch(null));
+        assertThrows(IllegalArgumentException.class, () -> loanService.returnBatch(null));
+    }
+
+    @Test
+    void duplicateAndAlreadyReturnedLoansFailPerItem() {
+        Book book = bookRepository.save(new Book("Batch Returns", "Tester", null, 2024, 2, 2, "LC-BATCH-004", "Testing"));
+        Member member = memberRepository.save(new Member("Batch Return Tester", "batch3@example.com", "020000003"));
+        List<BatchItemResult> checkouts = loanService.checkoutBatch(List.of(
+                new LoanCheckoutRequest(book.getId(), member.getId(), null),
+                new LoanCheckoutRequest(book.getId(), member.getId(), null)));
+        Long first = checkouts.get(0).getLoanId();
+        Long second = checkouts.get(1).getLoanId();
+
+        List<BatchItemResult> returns = loanService.returnBatch(List.of(first, first));
+        assertTrue(returns.get(0).isSuccess());
+        assertEquals("Duplicate loan id in batch.", returns.get(1).getMessage());
+
+        returns = loanService.returnBatch(List.of(first, second));
+        assertEquals("Loan has already been returned.", returns.get(0).getMessage());
+        assertTrue(returns.get(1).isSuccess());
+        assertEquals(2, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.librarymanagementsystem.service;
+
+import com.example.librarymanagementsystem.entity.Book;
+import com.example.librarymanagementsystem.entity.Loan;
+import com.example.librarymanagementsystem.entity.Member;
+import com.example.librarymanagementsystem.repository.BookRepository;
+import com.example.librarymanagementsystem.repository.LoanRepository;
+import com.example.librarymanagementsystem.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class LoanServiceConcurrencyTests {
+    private static final int THREADS = 32;
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelCheckoutsNeverLendMoreCopiesThanExist() throws Exception {
+        int copies = 5;
+        int attempts = 2000;
+        Book book = bookRepository.save(new Book("Concurrent Checkout", "Tester", "978-0-00-000001-1",
+                2024, copies, copies, "LC-CONC-001", "Testing"));
+        Member member = memberRepository.save(new Member("Checkout Tester", "checkout@example.com", "010000001"));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(attempts, () -> {
+            Book detached = bookRepository.findById(book.getId()).orElseThrow();
+            try {
+                loanService.saveLoan(new Loan(detached, member, LocalDate.now(), LocalDate.now().plusWeeks(2)));
+                succeeded.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(copies, succeeded.get());
+        assertEquals(attempts - copies, rejected.get());
+        assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+        assertEquals(copies, loanRepository.countByBookIdAndReturnDateIsNull(book.getId()));
+    }
+
+    @Test
+    void parallelReturnsOfOneLoanRestoreExactlyOneCopy() throws Exception {
+        Book book = bookRepository.save(new Book("Concurrent Return", "Tester", "978-0-00-000002-8",
+                2024, 2, 2, "LC-CONC-002", "Testing"));
+        Member member = memberRepository.save(new Member("Return Tester", "return@example.com", "010000002"));
+        Loan loan = loanService.saveLoan(new Loan(book, member, LocalDate.now(), LocalDate.now().plusWeeks(2)));
+
+        AtomicInteger returned = new AtomicInteger();
+        runConcurrently(200, () -> {
+            try {
+                loanService.returnLoan(loan.getId());
+                returned.incrementAndGet();
+            } catch (IllegalStateException e) {
+                // Already returned by another thread
+            }
+            return null;
+        });
+
+        assertEquals(1, returned.get());
+        assertEquals(2, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void checkoutOfAManagedBookDoesNotOverwriteTheDecrement() {
+        Book book = bookRepository.save(new Book("Managed Checkout", "Tester", "978-0-00-000003-5",
+                2024, 5, 5, "LC-CONC-003", "Testing"));
+        Member member = memberRepository.save(new Member("Managed Tester", "managed@example.com", "010000003"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Loaded into this transaction's persistence context with 5 copies
+            Book managed = bookRepository.findById(book.getId()).orElseThrow();
+            // Another checkout takes a copy after the read
+            jdbcTemplate.update("UPDATE book SET available_copies = available_copies - 1 WHERE id = ?", book.getId());
+            loanService.saveLoan(new Loan(managed, member, LocalDate.now(), LocalDate.now().plusWeeks(2)));
+        });
+
+        assertEquals(3, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+    }
+
+    // Release all tasks at once from a fixed pool and wait for them to finish
+    private void runConcurrently(int tasks, Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}